@@ -0,0 +1,113 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Synthetic catalogue data for the benchmarks, seeded from the {@code test_data*.json} sample pages.
+ *
+ * <p>Synthetic movies cycle through the sample movies, so pages keep the size and shape of real API
+ * responses, while director names are spread over a configurable number of distinct directors.</p>
+ */
+public final class BenchmarkData {
+
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final String[] SAMPLE_PAGES = {"test_data.json", "test_data_2.json", "test_data_3.json"};
+    private static final List<ObjectNode> SAMPLE_MOVIES = loadSampleMovies();
+
+    private BenchmarkData() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Builds a page in the format served by the movie API.
+     *
+     * @param page the page number
+     * @param perPage the number of movies on the page
+     * @param totalPages the total number of pages to report
+     * @param distinctDirectors the number of distinct directors across the catalogue
+     * @return the JSON page body
+     */
+    public static byte[] page(int page, int perPage, int totalPages, int distinctDirectors) {
+        ObjectNode body = OBJECT_MAPPER.createObjectNode();
+        body.put("page", page);
+        body.put("per_page", perPage);
+        body.put("total", (long) perPage * totalPages);
+        body.put("total_pages", totalPages);
+        ArrayNode data = body.putArray("data");
+
+        for (int i = 0; i < perPage; i++) {
+            int movieIndex = (page - 1) * perPage + i;
+            ObjectNode movie = SAMPLE_MOVIES.get(movieIndex % SAMPLE_MOVIES.size()).deepCopy();
+            movie.put("Director", directorName(movieIndex % distinctDirectors));
+            data.add(movie);
+        }
+
+        try {
+            return OBJECT_MAPPER.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds director names as a page decoder would produce them: a fresh {@link String} per movie.
+     *
+     * @param movies the number of movies
+     * @param distinctDirectors the number of distinct directors
+     * @return one director name per movie
+     */
+    public static String[] directorPerMovie(int movies, int distinctDirectors) {
+        String[] directors = new String[movies];
+        Random random = new Random(42);
+        for (int i = 0; i < movies; i++) {
+            directors[i] = new String(directorName(random.nextInt(distinctDirectors)));
+        }
+        return directors;
+    }
+
+    /**
+     * Builds a movie count per director with counts between 1 and {@code maxCount}.
+     *
+     * @param distinctDirectors the number of directors
+     * @param maxCount the highest movie count
+     * @return a {@link Map} of director name to movie count
+     */
+    public static Map<String, Integer> directorMovieCount(int distinctDirectors, int maxCount) {
+        Map<String, Integer> directorMovieCount = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < distinctDirectors; i++) {
+            directorMovieCount.put(directorName(i), 1 + random.nextInt(maxCount));
+        }
+        return directorMovieCount;
+    }
+
+    private static String directorName(int director) {
+        ObjectNode sample = SAMPLE_MOVIES.get(director % SAMPLE_MOVIES.size());
+        return sample.path("Director").asText() + " " + director;
+    }
+
+    private static List<ObjectNode> loadSampleMovies() {
+        List<ObjectNode> movies = new ArrayList<>();
+        try {
+            for (String samplePage : SAMPLE_PAGES) {
+                JsonNode page = OBJECT_MAPPER.readTree(Path.of(samplePage).toFile());
+                page.path("data").forEach(movie -> movies.add((ObjectNode) movie));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Benchmarks must be run from the project root", e);
+        }
+        return movies;
+    }
+}
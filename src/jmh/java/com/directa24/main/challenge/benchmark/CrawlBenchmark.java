@@ -0,0 +1,110 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.directa24.main.challenge.api.AdaptiveConcurrencyLimiter;
+import com.directa24.main.challenge.api.MovieApiCircuitBreaker;
+import com.directa24.main.challenge.api.MovieApiClient;
+import com.directa24.main.challenge.api.MovieApiMetrics;
+import com.directa24.main.challenge.api.MovieApiRateLimiter;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import com.directa24.main.challenge.config.AdaptiveConcurrencyProperties;
+import com.directa24.main.challenge.config.HttpTransportFactory;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import com.directa24.main.challenge.config.PageRetryProperties;
+import com.directa24.main.challenge.config.RateLimitProperties;
+import com.directa24.main.challenge.dto.DirectorListDTO;
+import com.directa24.main.challenge.service.impl.CrawlPeerClient;
+import com.directa24.main.challenge.service.impl.DirectorCountCache;
+import com.directa24.main.challenge.service.impl.DirectorServiceImpl;
+import com.directa24.main.challenge.service.impl.MovieCatalogCrawler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Full {@code getDirectors} runs over HTTP against a {@link StubMovieApiServer}, for the blocking
+ * fan-out and the reactive pipeline. The cache TTL and stale-while-revalidate window are zero so every
+ * invocation crawls every page. The stub pages never change, so after the first invocation each crawl is
+ * an incremental refresh: every page is fetched and hashed, none is decoded again.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CrawlBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int pages;
+
+    @Param({"8"})
+    private int concurrency;
+
+    private StubMovieApiServer server;
+    private ExecutorService movieFetchExecutor;
+    private ConnectionProvider connectionProvider;
+    private DirectorServiceImpl directorService;
+
+    @Setup
+    public void setUp() throws IOException {
+        server = new StubMovieApiServer(pages, 10, 50);
+        movieFetchExecutor = Executors.newFixedThreadPool(concurrency);
+        HttpTransportProperties transport = HttpTransportProperties.defaults();
+        connectionProvider = HttpTransportFactory.connectionProvider(transport);
+        WebClient webClient = WebClient.builder()
+                .baseUrl(server.baseUrl())
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpTransportFactory.reactorHttpClient(transport, connectionProvider)))
+                .build();
+        PageRetryProperties retry = PageRetryProperties.defaults();
+        MovieApiCircuitBreaker circuitBreaker = new MovieApiCircuitBreaker(5, Duration.ofSeconds(30));
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        MovieApiClient movieApiClient = new MovieApiClient(webClient, transport, retry, circuitBreaker,
+                new MovieApiMetrics(meterRegistry), new MovieApiRateLimiter(RateLimitProperties.defaults()),
+                new AdaptiveConcurrencyLimiter(new AdaptiveConcurrencyProperties(concurrency, 1, concurrency, 0.5,
+                        Duration.ofSeconds(2)), meterRegistry),
+                concurrency, new MoviePageDecoder());
+        MovieCatalogCrawler crawler = new MovieCatalogCrawler(movieApiClient,
+                new CrawlPeerClient(WebClient.builder(), transport, List.of(), ""), movieFetchExecutor, retry, meterRegistry);
+        directorService = new DirectorServiceImpl(
+                new DirectorCountCache(crawler, Duration.ZERO, Duration.ZERO, meterRegistry));
+    }
+
+    @TearDown
+    public void tearDown() {
+        movieFetchExecutor.shutdownNow();
+        connectionProvider.dispose();
+        server.close();
+    }
+
+    @Benchmark
+    public DirectorListDTO getDirectors() {
+        return directorService.getDirectors(4);
+    }
+
+    @Benchmark
+    public DirectorListDTO getDirectorsReactive() {
+        return directorService.getDirectorsReactive(4).block();
+    }
+}
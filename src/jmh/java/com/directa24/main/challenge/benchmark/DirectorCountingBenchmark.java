@@ -0,0 +1,72 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The {@code updateDirectorMovieCount} loop: the original {@code getOrDefault}/{@code put} on a
+ * {@link HashMap}, {@code merge} on a {@link ConcurrentHashMap} and the {@link DirectorCounter}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DirectorCountingBenchmark {
+
+    @Param({"10000", "1000000"})
+    private int movies;
+
+    @Param({"100", "10000"})
+    private int distinctDirectors;
+
+    private String[] directors;
+
+    @Setup
+    public void setUp() {
+        directors = BenchmarkData.directorPerMovie(movies, distinctDirectors);
+    }
+
+    @Benchmark
+    public Map<String, Integer> hashMapGetOrDefault() {
+        Map<String, Integer> directorMovieCount = new HashMap<>();
+        for (String director : directors) {
+            directorMovieCount.put(director, directorMovieCount.getOrDefault(director, 0) + 1);
+        }
+        return directorMovieCount;
+    }
+
+    @Benchmark
+    public Map<String, Integer> concurrentHashMapMerge() {
+        Map<String, Integer> directorMovieCount = new ConcurrentHashMap<>();
+        for (String director : directors) {
+            directorMovieCount.merge(director, 1, Integer::sum);
+        }
+        return directorMovieCount;
+    }
+
+    @Benchmark
+    public DirectorCounter directorCounter() {
+        DirectorCounter directorMovieCount = new DirectorCounter();
+        for (String director : directors) {
+            directorMovieCount.increment(director);
+        }
+        return directorMovieCount;
+    }
+}
@@ -0,0 +1,178 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.directa24.main.challenge.MainApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * End-to-end load test of {@code GET /api/directors}: the full application, over real HTTP, against a
+ * {@link StubMovieApiServer}.
+ *
+ * <p>Starts the stub movie API and the application in this JVM, sends {@code warmup} unrecorded requests,
+ * then {@code requests} requests from {@code concurrency} concurrent callers, cycling through
+ * {@code thresholds}, and reports the throughput and latency percentiles of the recorded requests. Every
+ * run with the same options serves the same catalogue and fails the same upstream requests.</p>
+ *
+ * <p>Options, as {@code --name=value}, with their defaults:</p>
+ * <pre>
+ * pages=100  per-page=10  directors=500  upstream-latency=0ms  upstream-error-rate=0
+ * concurrency=16  requests=5000  warmup=200  thresholds=1,3,5,10
+ * </pre>
+ *
+ * <p>Any other {@code --name=value} argument is passed to the application as a property, for instance
+ * {@code --directors.cache.ttl=0s} to crawl on every request or {@code --api.rate-limit.permits-per-second=0}
+ * to lift the request budget towards the stub. Run with:</p>
+ * <pre>
+ * mvn -Pbenchmarks test-compile exec:exec@load-test -Dload-test.args="--pages=1000 --concurrency=64"
+ * </pre>
+ */
+public final class DirectorsLoadTest {
+
+    private static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("pages", "100");
+        DEFAULTS.put("per-page", "10");
+        DEFAULTS.put("directors", "500");
+        DEFAULTS.put("upstream-latency", "0ms");
+        DEFAULTS.put("upstream-error-rate", "0");
+        DEFAULTS.put("concurrency", "16");
+        DEFAULTS.put("requests", "5000");
+        DEFAULTS.put("warmup", "200");
+        DEFAULTS.put("thresholds", "1,3,5,10");
+    }
+
+    private DirectorsLoadTest() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        List<String> applicationArgs = new ArrayList<>();
+        for (String arg : args) {
+            String[] option = arg.replaceFirst("^--", "").split("=", 2);
+            if (DEFAULTS.containsKey(option[0]) && option.length == 2) {
+                options.put(option[0], option[1]);
+            } else {
+                applicationArgs.add(arg);
+            }
+        }
+
+        int pages = Integer.parseInt(options.get("pages"));
+        int perPage = Integer.parseInt(options.get("per-page"));
+        Duration upstreamLatency = DurationStyle.detectAndParse(options.get("upstream-latency"));
+        double upstreamErrorRate = Double.parseDouble(options.get("upstream-error-rate"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+        int requests = Integer.parseInt(options.get("requests"));
+        int warmup = Integer.parseInt(options.get("warmup"));
+        int[] thresholds = Arrays.stream(options.get("thresholds").split(",")).mapToInt(Integer::parseInt).toArray();
+
+        try (StubMovieApiServer upstream = new StubMovieApiServer(pages, perPage,
+                Integer.parseInt(options.get("directors")), upstreamLatency, upstreamErrorRate)) {
+            applicationArgs.add(0, "--api.base-url=" + upstream.baseUrl());
+            applicationArgs.add(0, "--server.port=0");
+            applicationArgs.add(0, "--logging.level.com.directa24.main.challenge=WARN");
+
+            try (ConfigurableApplicationContext application = new SpringApplicationBuilder(MainApplication.class)
+                    .run(applicationArgs.toArray(String[]::new))) {
+                int port = ((WebServerApplicationContext) application).getWebServer().getPort();
+                URI baseUri = URI.create("http://127.0.0.1:" + port + "/api/directors?threshold=");
+                HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+                run(client, baseUri, thresholds, concurrency, warmup);
+                long upstreamBefore = upstream.requests();
+                Result result = run(client, baseUri, thresholds, concurrency, requests);
+
+                System.out.printf(Locale.ROOT, "%nLoad test: %d requests from %d callers, catalogue of %d pages x %d "
+                                + "movies, upstream latency %d ms, upstream error rate %.3f%n",
+                        requests, concurrency, pages, perPage, upstreamLatency.toMillis(), upstreamErrorRate);
+                result.print();
+                System.out.printf(Locale.ROOT, "Upstream: %d page requests, %d injected failures in total%n",
+                        upstream.requests() - upstreamBefore, upstream.failures());
+            }
+        }
+    }
+
+    /**
+     * Sends {@code requests} requests from {@code concurrency} callers and records their latency.
+     */
+    private static Result run(HttpClient client, URI baseUri, int[] thresholds, int concurrency, int requests)
+            throws Exception {
+        AtomicInteger next = new AtomicInteger();
+        AtomicLong failures = new AtomicLong();
+        long[] latencies = new long[requests];
+        ExecutorService callers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < concurrency; i++) {
+                workers.add(callers.submit(() -> {
+                    for (int request = next.getAndIncrement(); request < requests; request = next.getAndIncrement()) {
+                        URI uri = URI.create(baseUri.toString() + thresholds[request % thresholds.length]);
+                        long sent = System.nanoTime();
+                        try {
+                            HttpResponse<Void> response = client.send(HttpRequest.newBuilder(uri).GET().build(),
+                                    HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) {
+                                failures.incrementAndGet();
+                            }
+                        } catch (IOException e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[request] = System.nanoTime() - sent;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+        return new Result(latencies, failures.get(), System.nanoTime() - start);
+    }
+
+    private record Result(long[] latencies, long failures, long elapsedNanos) {
+
+        void print() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            double seconds = elapsedNanos / 1e9;
+            System.out.printf(Locale.ROOT, "Throughput: %.1f requests/s over %.2f s, %d failed%n",
+                    sorted.length / seconds, seconds, failures);
+            System.out.printf(Locale.ROOT, "Latency (ms): p50 %.2f  p90 %.2f  p99 %.2f  p99.9 %.2f  max %.2f%n",
+                    percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                    percentile(sorted, 0.999), percentile(sorted, 1.0));
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
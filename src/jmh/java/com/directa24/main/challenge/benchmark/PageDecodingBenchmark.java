@@ -0,0 +1,77 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import com.directa24.main.challenge.dto.MoviePageDTO;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding one API page: DTO binding (the original {@code MovieApiClient} path), a {@link JsonNode}
+ * tree (the original {@code Main} path) and the streaming {@link MoviePageDecoder}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PageDecodingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int perPage;
+
+    private byte[] page;
+    private ObjectMapper objectMapper;
+    private MoviePageDecoder moviePageDecoder;
+
+    @Setup
+    public void setUp() {
+        page = BenchmarkData.page(1, perPage, 1, 50);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        moviePageDecoder = new MoviePageDecoder();
+    }
+
+    @Benchmark
+    public void dtoBinding(Blackhole blackhole) throws IOException {
+        MoviePageDTO pageData = objectMapper.readValue(page, MoviePageDTO.class);
+        pageData.getData().forEach(movie -> blackhole.consume(movie.getDirector()));
+    }
+
+    @Benchmark
+    public void jsonNodeTree(Blackhole blackhole) throws IOException {
+        JsonNode pageData = objectMapper.readTree(page);
+        for (JsonNode movie : pageData.path("data")) {
+            blackhole.consume(movie.path("Director").asText());
+        }
+    }
+
+    @Benchmark
+    public void streamingDecoder(Blackhole blackhole) throws IOException {
+        blackhole.consume(moviePageDecoder.decode(new ByteArrayInputStream(page), blackhole::consume));
+    }
+
+    @Benchmark
+    public DirectorCounter streamingDecoderIntoCounter() throws IOException {
+        DirectorCounter directorCounter = new DirectorCounter();
+        moviePageDecoder.decode(new ByteArrayInputStream(page), directorCounter);
+        return directorCounter;
+    }
+}
@@ -0,0 +1,129 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Local stand-in for the movie API serving synthetic pages at any catalogue size.
+ *
+ * <p>Serves {@code GET /api/movies/search?page=N} for pages 1 to {@code totalPages}. Each body is built from
+ * {@link BenchmarkData} when it is requested, from its page number and the page size, so every page holds its
+ * own movies and the directors spread over the whole catalogue, as they would on the real API. Requesting a
+ * page twice serves the same body.</p>
+ *
+ * <p>A fixed latency can be added to every response, and a share of the requests can be answered
+ * {@code 503 Service Unavailable}. Failures are spread evenly over the requests rather than drawn at random,
+ * so a run with the same settings always fails the same requests.</p>
+ */
+public class StubMovieApiServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final int totalPages;
+    private final int perPage;
+    private final int distinctDirectors;
+    private final long latencyMillis;
+    private final double errorRate;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public StubMovieApiServer(int totalPages, int perPage, int distinctDirectors) throws IOException {
+        this(totalPages, perPage, distinctDirectors, Duration.ZERO, 0);
+    }
+
+    /**
+     * @param totalPages the number of pages in the catalogue
+     * @param perPage the number of movies per page
+     * @param distinctDirectors the number of distinct directors across the catalogue
+     * @param latency the delay added to every response
+     * @param errorRate the share (0 to 1) of requests answered with a 503
+     */
+    public StubMovieApiServer(int totalPages, int perPage, int distinctDirectors, Duration latency,
+                              double errorRate) throws IOException {
+        this.totalPages = totalPages;
+        this.perPage = perPage;
+        this.distinctDirectors = distinctDirectors;
+        this.latencyMillis = latency.toMillis();
+        this.errorRate = errorRate;
+
+        // Responses wait out their latency on a server thread, so allow many of them to wait at once
+        this.executor = Executors.newFixedThreadPool(latencyMillis > 0 ? 256 : 16);
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 512);
+        this.server.createContext("/api/movies/search", this::handle);
+        this.server.setExecutor(executor);
+        this.server.start();
+    }
+
+    /**
+     * @return the base URL to configure as {@code api.base-url}
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/api";
+    }
+
+    /**
+     * @return the number of page requests received so far
+     */
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * @return the number of page requests answered with an injected failure so far
+     */
+    public long failures() {
+        return failures.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            long request = requests.getAndIncrement();
+            if (latencyMillis > 0) {
+                Thread.sleep(latencyMillis);
+            }
+            if (Math.floor((request + 1) * errorRate) > Math.floor(request * errorRate)) {
+                failures.incrementAndGet();
+                exchange.sendResponseHeaders(503, -1);
+                return;
+            }
+            int page = parsePage(exchange.getRequestURI().getQuery());
+            if (page < 1 || page > totalPages) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            byte[] body = BenchmarkData.page(page, perPage, totalPages, distinctDirectors);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static int parsePage(String query) {
+        if (query != null) {
+            for (String parameter : query.split("&")) {
+                if (parameter.startsWith("page=")) {
+                    return Integer.parseInt(parameter.substring("page=".length()));
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,65 @@
+package com.directa24.main.challenge.benchmark;
+
+import com.directa24.main.challenge.aggregation.DirectorThresholdIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Answering one threshold query: the original filter and sort over every director versus a lookup in
+ * the {@link DirectorThresholdIndex}, plus the one-off cost of building the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ThresholdQueryBenchmark {
+
+    @Param({"1000", "100000"})
+    private int distinctDirectors;
+
+    @Param({"0", "10"})
+    private int threshold;
+
+    private Map<String, Integer> directorMovieCount;
+    private DirectorThresholdIndex thresholdIndex;
+
+    @Setup
+    public void setUp() {
+        directorMovieCount = BenchmarkData.directorMovieCount(distinctDirectors, 20);
+        thresholdIndex = DirectorThresholdIndex.of(directorMovieCount);
+    }
+
+    @Benchmark
+    public List<String> filterAndSort() {
+        return directorMovieCount.entrySet().stream()
+                .filter(entry -> entry.getValue() > threshold)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+    }
+
+    @Benchmark
+    public List<String> thresholdIndexLookup() {
+        return thresholdIndex.directorsAbove(threshold);
+    }
+
+    @Benchmark
+    public DirectorThresholdIndex thresholdIndexBuild() {
+        return DirectorThresholdIndex.of(directorMovieCount);
+    }
+}
@@ -1,19 +1,32 @@
 package com.directa24.main.challenge;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
-
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import com.directa24.main.challenge.config.FetchProperties;
+import com.directa24.main.challenge.config.HttpTransportFactory;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import com.directa24.main.challenge.loader.PagePipeline;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
 import java.util.*;
+import java.util.zip.GZIPInputStream;
 
 public class Main {
 
    public static final String BASE_URL = "https://wiremock.dev.eroninternational.com/api/movies/search?page=";
-   public static final HttpClient HTTP_CLIENT = HttpClient.newHttpClient();
-   public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+   public static final HttpTransportProperties HTTP_TRANSPORT = HttpTransportProperties.fromClasspath();
+   public static final HttpClient HTTP_CLIENT = HttpTransportFactory.javaHttpClient(HTTP_TRANSPORT);
+   public static final MoviePageDecoder MOVIE_PAGE_DECODER = new MoviePageDecoder();
+   public static final int FETCHERS = FetchProperties.fromClasspath().concurrency();
+   public static final int PARSERS = Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+   public static final PagePipeline PAGE_PIPELINE = new PagePipeline(Main::fetchPage, Main::countPage,
+           FETCHERS, PARSERS, 2 * PARSERS);
 
    public static void main(String[] args) {
       try {
@@ -35,24 +48,16 @@ public class Main {
     */
    public static List<String> getDirectors(int threshold) {
 
-      Map<String, Integer> directorMovieCount = new HashMap<>();
-      int page = 1;
-      boolean hasMorePages;
-
-      do {
-         JsonNode pageData = fetchPageData(page);
-         if (pageData == null) break;
+      DirectorCounter directorMovieCount = new DirectorCounter();
 
-         // Update director movie count
-         updateDirectorMovieCount(pageData, directorMovieCount);
+      // The first page tells how many pages there are
+      MoviePageDecoder.PageSummary firstPage = countPage(1, fetchPage(1), directorMovieCount);
 
-         int totalPages = pageData.path("total_pages").asInt(1);
-         hasMorePages = page < totalPages;
-         page++;
-      } while (hasMorePages);
+      // Fetch the remaining pages on I/O threads while parser threads count the pages already downloaded
+      PAGE_PIPELINE.count(2, firstPage.totalPages(), directorMovieCount);
 
       // Filter directors based on the threshold
-      return directorMovieCount.entrySet().stream()
+      return directorMovieCount.toMap().entrySet().stream()
               .filter(entry -> entry.getValue() > threshold)
               .map(Map.Entry::getKey)
               .sorted()
@@ -60,40 +65,56 @@ public class Main {
    }
 
    /**
-    * Fetch the JSON data for a specific page.
+    * Wrap the response body in a gzip decoder when the server compressed it.
     */
-   private static JsonNode fetchPageData(int pageNumber) {
+   private static InputStream decompress(HttpResponse<InputStream> response) throws IOException {
+      boolean gzipped = response.headers().firstValue("Content-Encoding")
+              .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+              .orElse(false);
+      return gzipped ? new GZIPInputStream(response.body()) : response.body();
+   }
+
+   /**
+    * Fetch the raw, decompressed body of a specific page.
+    */
+   private static byte[] fetchPage(int pageNumber) {
       try {
          URI uri = URI.create(BASE_URL + pageNumber);
-         HttpRequest request = HttpRequest.newBuilder()
+         HttpRequest.Builder requestBuilder = HttpRequest.newBuilder()
                  .uri(uri)
-                 .GET()
-                 .build();
+                 .timeout(HTTP_TRANSPORT.readTimeout())
+                 .GET();
+         if (HTTP_TRANSPORT.compression()) {
+            requestBuilder.header("Accept-Encoding", "gzip");
+         }
 
-         HttpResponse<String> response = HTTP_CLIENT.send(request, HttpResponse.BodyHandlers.ofString());
+         HttpResponse<InputStream> response = HTTP_CLIENT.send(requestBuilder.build(), HttpResponse.BodyHandlers.ofInputStream());
          if (response.statusCode() != 200) {
+            response.body().close();
             throw new RuntimeException("HTTP request failed with status: " + response.statusCode());
          }
 
-         return OBJECT_MAPPER.readTree(response.body());
+         try (InputStream body = decompress(response)) {
+            return body.readAllBytes();
+         }
       } catch (Exception e) {
-         throw new RuntimeException("Failed to fetch or parse page data for page: " + pageNumber, e);
+         throw new RuntimeException("Failed to fetch page data for page: " + pageNumber, e);
       }
    }
 
    /**
-    * Update the director movie count based on data from the current page.
+    * Stream the movies of a page body into the director movie count.
+    * Only the Director field of each movie is decoded; the rest of the page is skipped.
     */
-   private static void updateDirectorMovieCount(JsonNode pageData, Map<String, Integer> directorMovieCount) {
-      JsonNode movies = pageData.path("data");
-
-      if (!movies.isArray()) {
-         throw new RuntimeException("Invalid JSON structure: 'data' is not an array.");
-      }
-
-      for (JsonNode movie : movies) {
-         String director = movie.path("Director").asText();
-         directorMovieCount.put(director, directorMovieCount.getOrDefault(director, 0) + 1);
+   private static MoviePageDecoder.PageSummary countPage(int pageNumber, byte[] body, DirectorCounter directorMovieCount) {
+      try {
+         MoviePageDecoder.PageSummary pageData = MOVIE_PAGE_DECODER.decode(new ByteArrayInputStream(body), directorMovieCount);
+         if (!pageData.hasData()) {
+            throw new RuntimeException("Invalid JSON structure: 'data' is not an array.");
+         }
+         return pageData;
+      } catch (Exception e) {
+         throw new RuntimeException("Failed to parse page data for page: " + pageNumber, e);
       }
    }
 
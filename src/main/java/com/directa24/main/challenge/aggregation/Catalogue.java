@@ -0,0 +1,22 @@
+package com.directa24.main.challenge.aggregation;
+
+import java.util.Map;
+
+/**
+ * The director statistics of the catalogue, with the movies they were aggregated from when they are held
+ * in memory.
+ *
+ * @param directorStats the statistics per director
+ * @param movies the movies of the catalogue, or {@code null} if only their statistics are known, for instance
+ *               when the statistics were restored from a snapshot file or partly crawled by other nodes
+ */
+public record Catalogue(Map<String, DirectorStats> directorStats, MovieColumns movies) {
+
+    /**
+     * @param movies the movies of the catalogue
+     * @return the catalogue of the movies, with the statistics aggregated from them
+     */
+    public static Catalogue of(MovieColumns movies) {
+        return new Catalogue(movies.directorStats(), movies);
+    }
+}
@@ -0,0 +1,205 @@
+package com.directa24.main.challenge.aggregation;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * Open-addressing map from director name to movie count, specialised for the aggregation hot path.
+ *
+ * <p>Counts are kept in a primitive {@code int[]} column, so incrementing an existing director boxes
+ * nothing and hashes the name once. The key table doubles as the name intern table: the first
+ * {@link String} seen for a director is the only one retained, and
+ * {@link #increment(char[], int, int)} looks names up directly in a parser's character buffer, so a
+ * known director is counted without allocating a {@link String} at all.</p>
+ *
+ * <p>Instances are not thread-safe; concurrent producers must synchronise on the counter or count
+ * into separate counters and {@link #addAll(DirectorCounter) merge} them.</p>
+ */
+public final class DirectorCounter {
+
+    private static final int DEFAULT_EXPECTED_DIRECTORS = 32;
+    private static final int MIN_CAPACITY = 16;
+
+    private String[] names;
+    private int[] hashes;
+    private int[] counts;
+    private int size;
+
+    public DirectorCounter() {
+        this(DEFAULT_EXPECTED_DIRECTORS);
+    }
+
+    /**
+     * @param expectedDirectors the number of distinct directors expected, used to presize the tables
+     */
+    public DirectorCounter(int expectedDirectors) {
+        allocate(Integer.highestOneBit(Math.max(MIN_CAPACITY, expectedDirectors * 2) - 1) << 1);
+    }
+
+    /**
+     * Adds one movie to the given director.
+     *
+     * @param director the director name
+     */
+    public void increment(String director) {
+        add(director, 1);
+    }
+
+    /**
+     * Adds movies to the given director.
+     *
+     * @param director the director name
+     * @param movies the number of movies to add
+     */
+    public void add(String director, int movies) {
+        int hash = mix(director.hashCode());
+        int mask = names.length - 1;
+        int slot = hash & mask;
+
+        while (names[slot] != null) {
+            if (hashes[slot] == hash && names[slot].equals(director)) {
+                counts[slot] += movies;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, director, hash, movies);
+    }
+
+    /**
+     * Adds one movie to the director whose name is held in the given character range.
+     *
+     * <p>A {@link String} is only created the first time a director is seen.</p>
+     *
+     * @param chars the buffer holding the name
+     * @param offset the offset of the name in the buffer
+     * @param length the length of the name
+     */
+    public void increment(char[] chars, int offset, int length) {
+        int rawHash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            rawHash = 31 * rawHash + chars[i];
+        }
+        int hash = mix(rawHash);
+        int mask = names.length - 1;
+        int slot = hash & mask;
+
+        while (names[slot] != null) {
+            if (hashes[slot] == hash && contentEquals(names[slot], chars, offset, length)) {
+                counts[slot]++;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        insert(slot, new String(chars, offset, length), hash, 1);
+    }
+
+    /**
+     * Adds every count of another counter to this one.
+     *
+     * @param other the counter to merge
+     */
+    public void addAll(DirectorCounter other) {
+        other.forEach(this::add);
+    }
+
+    /**
+     * @param director the director name
+     * @return the number of movies counted for the director, or 0 if unknown
+     */
+    public int get(String director) {
+        int hash = mix(director.hashCode());
+        int mask = names.length - 1;
+        int slot = hash & mask;
+
+        while (names[slot] != null) {
+            if (hashes[slot] == hash && names[slot].equals(director)) {
+                return counts[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        return 0;
+    }
+
+    /**
+     * @return the number of distinct directors counted
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Visits every director with its movie count, in no particular order.
+     *
+     * @param action receives each director name and movie count
+     */
+    public void forEach(ObjIntConsumer<String> action) {
+        for (int slot = 0; slot < names.length; slot++) {
+            if (names[slot] != null) {
+                action.accept(names[slot], counts[slot]);
+            }
+        }
+    }
+
+    /**
+     * @return a new {@link Map} of director name to movie count
+     */
+    public Map<String, Integer> toMap() {
+        Map<String, Integer> directorMovieCount = new HashMap<>(size * 2);
+        forEach(directorMovieCount::put);
+        return directorMovieCount;
+    }
+
+    private void insert(int slot, String director, int hash, int movies) {
+        names[slot] = director;
+        hashes[slot] = hash;
+        counts[slot] = movies;
+        if (++size * 2 > names.length) {
+            resize();
+        }
+    }
+
+    private void resize() {
+        String[] oldNames = names;
+        int[] oldHashes = hashes;
+        int[] oldCounts = counts;
+        allocate(oldNames.length << 1);
+        int mask = names.length - 1;
+
+        for (int oldSlot = 0; oldSlot < oldNames.length; oldSlot++) {
+            if (oldNames[oldSlot] != null) {
+                int slot = oldHashes[oldSlot] & mask;
+                while (names[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                names[slot] = oldNames[oldSlot];
+                hashes[slot] = oldHashes[oldSlot];
+                counts[slot] = oldCounts[oldSlot];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        names = new String[capacity];
+        hashes = new int[capacity];
+        counts = new int[capacity];
+    }
+
+    private static boolean contentEquals(String name, char[] chars, int offset, int length) {
+        if (name.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (name.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int mix(int hash) {
+        int mixed = hash * 0x9E3779B9;
+        return mixed ^ (mixed >>> 16);
+    }
+}
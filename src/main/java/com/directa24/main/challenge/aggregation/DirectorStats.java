@@ -0,0 +1,19 @@
+package com.directa24.main.challenge.aggregation;
+
+import java.util.Map;
+
+/**
+ * Aggregated statistics of the movies of one director.
+ *
+ * @param movieCount the number of movies
+ * @param firstYear the release year of the earliest movie, or {@code null} if no movie has a year
+ * @param lastYear the release year of the latest movie, or {@code null} if no movie has a year
+ * @param totalRuntimeMinutes the summed runtime of the movies that report one
+ * @param genres the number of movies per genre, most frequent genre first
+ */
+public record DirectorStats(int movieCount,
+                            Integer firstYear,
+                            Integer lastYear,
+                            long totalRuntimeMinutes,
+                            Map<String, Integer> genres) {
+}
@@ -0,0 +1,91 @@
+package com.directa24.main.challenge.aggregation;
+
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Accumulator merging {@link DirectorStats} aggregated separately, such as the partial statistics of the
+ * page ranges crawled by other nodes, into the statistics of every director.
+ *
+ * <p>Each director is folded into a compact accumulator as statistics arrive: the movie counts and
+ * runtime totals are summed, the year ranges widened and the genre histograms added up. Genre names are
+ * interned across directors, so each genre string is retained once.</p>
+ *
+ * <p>Instances are not thread-safe.</p>
+ */
+public final class DirectorStatsCollector {
+
+    private final Map<String, Accumulator> directors = new HashMap<>();
+    private final Map<String, String> genreNames = new HashMap<>();
+
+    /**
+     * Merges statistics aggregated elsewhere, such as by another crawl node, into those of the director.
+     *
+     * @param director the director name
+     * @param stats the statistics to merge
+     */
+    public void add(String director, DirectorStats stats) {
+        Accumulator ours = directors.computeIfAbsent(director, name -> new Accumulator());
+        ours.movieCount += stats.movieCount();
+        ours.addYear(stats.firstYear() == null ? 0 : stats.firstYear());
+        ours.addYear(stats.lastYear() == null ? 0 : stats.lastYear());
+        ours.totalRuntimeMinutes += stats.totalRuntimeMinutes();
+        stats.genres().forEach((genre, movies) ->
+                ours.addGenre(genreNames.computeIfAbsent(genre, key -> key), movies));
+    }
+
+    /**
+     * @return the number of distinct directors
+     */
+    public int size() {
+        return directors.size();
+    }
+
+    /**
+     * Returns the statistics of every director.
+     *
+     * @return an unmodifiable map of director name to {@link DirectorStats}
+     */
+    public Map<String, DirectorStats> toMap() {
+        Map<String, DirectorStats> stats = new HashMap<>(directors.size() * 4 / 3 + 1);
+        directors.forEach((director, accumulator) -> stats.put(director, accumulator.toStats()));
+        return Collections.unmodifiableMap(stats);
+    }
+
+    private static final class Accumulator {
+
+        private int movieCount;
+        private int firstYear;
+        private int lastYear;
+        private long totalRuntimeMinutes;
+        private final Map<String, Integer> genres = new HashMap<>(4);
+
+        void addYear(int year) {
+            if (year <= 0) {
+                return;
+            }
+            firstYear = firstYear == 0 ? year : Math.min(firstYear, year);
+            lastYear = Math.max(lastYear, year);
+        }
+
+        void addGenre(String genre, int movies) {
+            genres.merge(genre, movies, Integer::sum);
+        }
+
+        DirectorStats toStats() {
+            Map<String, Integer> sortedGenres = new LinkedHashMap<>();
+            genres.entrySet().stream()
+                    .sorted(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder())
+                            .thenComparing(Map.Entry.comparingByKey()))
+                    .forEachOrdered(entry -> sortedGenres.put(entry.getKey(), entry.getValue()));
+            return new DirectorStats(movieCount,
+                    firstYear == 0 ? null : firstYear,
+                    lastYear == 0 ? null : lastYear,
+                    totalRuntimeMinutes,
+                    Collections.unmodifiableMap(sortedGenres));
+        }
+    }
+}
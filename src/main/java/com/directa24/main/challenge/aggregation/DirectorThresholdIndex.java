@@ -0,0 +1,167 @@
+package com.directa24.main.challenge.aggregation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+/**
+ * Immutable index answering "directors with more than N movies" without sorting per query.
+ *
+ * <p>Directors are bucketed by movie count. For every distinct count {@code c}, the alphabetically
+ * sorted list of directors with at least {@code c} movies is precomputed, so a threshold lookup is a
+ * binary search over the distinct counts returning a shared, unmodifiable list.</p>
+ *
+ * <p>The suffix lists are built from the highest count downwards by merging each bucket into the
+ * previous suffix, so construction costs O(n * k) for n directors and k distinct counts. Movie counts
+ * per director are small, which keeps k (and the memory held by the suffix lists) low.</p>
+ */
+public final class DirectorThresholdIndex {
+
+    private static final DirectorThresholdIndex EMPTY = new DirectorThresholdIndex(new int[0], List.of());
+
+    private final int[] distinctCounts;
+    private final List<List<String>> directorsFromCount;
+
+    private DirectorThresholdIndex(int[] distinctCounts, List<List<String>> directorsFromCount) {
+        this.distinctCounts = distinctCounts;
+        this.directorsFromCount = directorsFromCount;
+    }
+
+    /**
+     * Builds the index from a map of director name to movie count.
+     *
+     * @param directorMovieCount the movie count per director
+     * @return the threshold index
+     */
+    public static DirectorThresholdIndex of(Map<String, Integer> directorMovieCount) {
+        if (directorMovieCount.isEmpty()) {
+            return EMPTY;
+        }
+
+        TreeMap<Integer, List<String>> directorsByCount = new TreeMap<>();
+        directorMovieCount.forEach((director, count) ->
+                directorsByCount.computeIfAbsent(count, key -> new ArrayList<>()).add(director));
+
+        int[] distinctCounts = new int[directorsByCount.size()];
+        List<String>[] suffixes = newListArray(distinctCounts.length);
+        List<String> suffix = List.of();
+        int position = distinctCounts.length - 1;
+
+        for (Map.Entry<Integer, List<String>> bucket : directorsByCount.descendingMap().entrySet()) {
+            List<String> directors = bucket.getValue();
+            Collections.sort(directors);
+            suffix = merge(suffix, directors);
+            distinctCounts[position] = bucket.getKey();
+            suffixes[position] = suffix;
+            position--;
+        }
+
+        return new DirectorThresholdIndex(distinctCounts, List.of(suffixes));
+    }
+
+    /**
+     * Returns the directors whose movie count strictly exceeds the threshold.
+     *
+     * @param threshold the minimum movie count a director must exceed to be included
+     * @return an alphabetically sorted, unmodifiable {@link List} of director names
+     */
+    public List<String> directorsAbove(int threshold) {
+        int position = Arrays.binarySearch(distinctCounts, threshold);
+        int firstAbove = position >= 0 ? position + 1 : -position - 1;
+        return firstAbove < distinctCounts.length ? directorsFromCount.get(firstAbove) : List.of();
+    }
+
+    /**
+     * Returns one page of the directors whose movie count strictly exceeds the threshold.
+     *
+     * <p>Pages are keyed by name: the page starts at the first director sorted after {@code after}, so a
+     * client can resume from the last name it received even if the index has been rebuilt in between.
+     * The page is a view of the shared list, located by binary search, so nothing is copied.</p>
+     *
+     * @param threshold the minimum movie count a director must exceed to be included
+     * @param after the last director of the previous page, or {@code null} to start from the first director
+     * @param limit the maximum number of directors in the page
+     * @return an alphabetically sorted, unmodifiable {@link List} of at most {@code limit} director names
+     */
+    public List<String> directorsAbove(int threshold, String after, int limit) {
+        if (limit < 0) {
+            throw new IllegalArgumentException("Limit must be 0 or greater");
+        }
+        List<String> directors = directorsAbove(threshold);
+        int from = 0;
+        if (after != null) {
+            int position = Collections.binarySearch(directors, after);
+            from = position >= 0 ? position + 1 : -position - 1;
+        }
+        return directors.subList(from, (int) Math.min(directors.size(), (long) from + limit));
+    }
+
+    /**
+     * Returns the directors whose movie count strictly exceeds the threshold and whose name starts with the
+     * prefix.
+     *
+     * <p>Names sharing a prefix are contiguous in the sorted list, so the match is a view of the shared list
+     * between two binary searches, and nothing is copied. The prefix is matched case-sensitively.</p>
+     *
+     * @param threshold the minimum movie count a director must exceed to be included
+     * @param prefix the start of the names to include, or {@code null} to include every name
+     * @return an alphabetically sorted, unmodifiable {@link List} of director names
+     */
+    public List<String> directorsAbove(int threshold, String prefix) {
+        List<String> directors = directorsAbove(threshold);
+        if (prefix == null || prefix.isEmpty()) {
+            return directors;
+        }
+        int from = firstIndex(directors, 0, name -> name.compareTo(prefix) >= 0);
+        int to = firstIndex(directors, from, name -> !name.startsWith(prefix));
+        return directors.subList(from, to);
+    }
+
+    /**
+     * @return the total number of directors in the index
+     */
+    public int size() {
+        return directorsFromCount.isEmpty() ? 0 : directorsFromCount.get(0).size();
+    }
+
+    /**
+     * Binary search for the first name from {@code from} that matches a condition which, once true, stays
+     * true for the rest of the sorted list.
+     *
+     * @return the index of the first matching name, or the size of the list if none matches
+     */
+    private static int firstIndex(List<String> directors, int from, Predicate<String> condition) {
+        int low = from;
+        int high = directors.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (condition.test(directors.get(middle))) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return low;
+    }
+
+    private static List<String> merge(List<String> left, List<String> right) {
+        List<String> merged = new ArrayList<>(left.size() + right.size());
+        int i = 0;
+        int j = 0;
+        while (i < left.size() && j < right.size()) {
+            merged.add(left.get(i).compareTo(right.get(j)) <= 0 ? left.get(i++) : right.get(j++));
+        }
+        merged.addAll(left.subList(i, left.size()));
+        merged.addAll(right.subList(j, right.size()));
+        return Collections.unmodifiableList(merged);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String>[] newListArray(int length) {
+        return (List<String>[]) new List[length];
+    }
+}
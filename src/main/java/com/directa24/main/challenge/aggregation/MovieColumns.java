@@ -0,0 +1,364 @@
+package com.directa24.main.challenge.aggregation;
+
+import com.directa24.main.challenge.dto.MovieDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable, column-oriented store of the movies of the catalogue, keeping only the fields the queries read.
+ *
+ * <p>Each movie is a row across primitive columns: the director as an index into a dictionary of distinct
+ * names, the release year and the runtime in minutes as {@code int}s (0 if unknown), and its genres as
+ * indexes into a dictionary of distinct genre names, stored back to back with one offset per movie. A movie
+ * therefore costs about a dozen bytes plus four per genre, instead of an object graph of strings, and each
+ * name is held once.</p>
+ *
+ * <p>Year and runtime are read from the raw API values ({@code "2011"}, {@code "94 min"}) by their leading
+ * digits; missing or unparseable values ({@code "N/A"}) are stored as 0, which leaves them out of the year range
+ * and the runtime total while the movie is still counted. Movies without a director are not stored. The store is built with a
+ * {@link Builder}; stores of separate pages can be concatenated with {@link Builder#addAll(MovieColumns)}.</p>
+ */
+public final class MovieColumns {
+
+    private static final MovieColumns EMPTY = new Builder().build();
+
+    private final String[] directors;
+    private final String[] genres;
+    private final int[] directorIds;
+    private final int[] years;
+    private final int[] runtimes;
+    private final int[] genreOffsets;
+    private final int[] genreIds;
+
+    private MovieColumns(Builder builder) {
+        this.directors = builder.directors.toArray(String[]::new);
+        this.genres = builder.genres.toArray(String[]::new);
+        this.directorIds = Arrays.copyOf(builder.directorIds, builder.size);
+        this.years = Arrays.copyOf(builder.years, builder.size);
+        this.runtimes = Arrays.copyOf(builder.runtimes, builder.size);
+        this.genreOffsets = Arrays.copyOf(builder.genreOffsets, builder.size + 1);
+        this.genreIds = Arrays.copyOf(builder.genreIds, builder.genreOffsets[builder.size]);
+    }
+
+    /**
+     * @return a store without movies
+     */
+    public static MovieColumns empty() {
+        return EMPTY;
+    }
+
+    /**
+     * @return the number of movies
+     */
+    public int size() {
+        return directorIds.length;
+    }
+
+    /**
+     * @return the number of distinct directors
+     */
+    public int directorCount() {
+        return directors.length;
+    }
+
+    /**
+     * Lists the directors with more movies than a threshold released in or after the given year, without
+     * building a map of every director's count.
+     *
+     * @param threshold the movie count a director must exceed
+     * @param sinceYear the earliest release year to count; movies without a year are only counted when it is
+     *                  0 or lower
+     * @return the matching director names, in alphabetical order
+     */
+    public List<String> directorsAbove(int threshold, int sinceYear) {
+        int[] counts = countMovies(sinceYear);
+        List<String> matching = new ArrayList<>();
+        for (int director = 0; director < counts.length; director++) {
+            if (counts[director] > threshold) {
+                matching.add(directors[director]);
+            }
+        }
+        matching.sort(Comparator.naturalOrder());
+        return matching;
+    }
+
+    /**
+     * Aggregates the statistics of every director in one pass over the columns.
+     *
+     * @return an unmodifiable map of director name to {@link DirectorStats}, with each director's genres by
+     * descending movie count, then by name
+     */
+    public Map<String, DirectorStats> directorStats() {
+        int directorCount = directors.length;
+        int[] movieCounts = new int[directorCount];
+        int[] firstYears = new int[directorCount];
+        int[] lastYears = new int[directorCount];
+        long[] totalRuntimes = new long[directorCount];
+        int[][] genreCounts = new int[directorCount][];
+
+        for (int movie = 0; movie < directorIds.length; movie++) {
+            int director = directorIds[movie];
+            movieCounts[director]++;
+            int year = years[movie];
+            if (year > 0) {
+                firstYears[director] = firstYears[director] == 0 ? year : Math.min(firstYears[director], year);
+                lastYears[director] = Math.max(lastYears[director], year);
+            }
+            totalRuntimes[director] += runtimes[movie];
+            for (int i = genreOffsets[movie]; i < genreOffsets[movie + 1]; i++) {
+                if (genreCounts[director] == null) {
+                    genreCounts[director] = new int[genres.length];
+                }
+                genreCounts[director][genreIds[i]]++;
+            }
+        }
+
+        Map<String, DirectorStats> stats = new HashMap<>(directorCount * 4 / 3 + 1);
+        for (int director = 0; director < directorCount; director++) {
+            stats.put(directors[director], new DirectorStats(movieCounts[director],
+                    firstYears[director] == 0 ? null : firstYears[director],
+                    lastYears[director] == 0 ? null : lastYears[director],
+                    totalRuntimes[director],
+                    genreHistogram(genreCounts[director])));
+        }
+        return Collections.unmodifiableMap(stats);
+    }
+
+    /**
+     * @return the movie count since {@code sinceYear} of every director, by dictionary code
+     */
+    private int[] countMovies(int sinceYear) {
+        int[] counts = new int[directors.length];
+        for (int movie = 0; movie < directorIds.length; movie++) {
+            if (sinceYear <= 0 || years[movie] >= sinceYear) {
+                counts[directorIds[movie]]++;
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * Parses the leading digits of a raw API value.
+     *
+     * @return the parsed value, or 0 if the value does not start with a digit
+     */
+    static int leadingInt(String value) {
+        if (value == null) {
+            return 0;
+        }
+        int result = 0;
+        for (int i = 0; i < value.length() && i < 9; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                break;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    /**
+     * @return the genres of a director by descending movie count, then by name
+     */
+    private Map<String, Integer> genreHistogram(int[] counts) {
+        if (counts == null) {
+            return Map.of();
+        }
+        List<Integer> present = new ArrayList<>();
+        for (int genre = 0; genre < counts.length; genre++) {
+            if (counts[genre] > 0) {
+                present.add(genre);
+            }
+        }
+        present.sort(Comparator.comparingInt((Integer genre) -> counts[genre]).reversed()
+                .thenComparing(genre -> genres[genre]));
+        Map<String, Integer> histogram = new LinkedHashMap<>();
+        present.forEach(genre -> histogram.put(genres[genre], counts[genre]));
+        return Collections.unmodifiableMap(histogram);
+    }
+
+    /**
+     * Appends movies to growing columns and builds an immutable {@link MovieColumns}.
+     *
+     * <p>Builders are not thread-safe. Names can be interned through a map shared by several builders, for
+     * instance one per page, so that every store holds the same instance of each name.</p>
+     */
+    public static final class Builder {
+
+        private static final int INITIAL_CAPACITY = 16;
+
+        private final Map<String, String> names;
+        private final Map<String, Integer> directorIndex = new HashMap<>();
+        private final Map<String, Integer> genreIndex = new HashMap<>();
+        private final List<String> directors = new ArrayList<>();
+        private final List<String> genres = new ArrayList<>();
+        private int[] directorIds = new int[INITIAL_CAPACITY];
+        private int[] years = new int[INITIAL_CAPACITY];
+        private int[] runtimes = new int[INITIAL_CAPACITY];
+        private int[] genreOffsets = new int[INITIAL_CAPACITY + 1];
+        private int[] genreIds = new int[INITIAL_CAPACITY];
+        private int size;
+
+        public Builder() {
+            this(new HashMap<>());
+        }
+
+        /**
+         * @param names the map interning director and genre names, which may be shared with other builders
+         *              and must then be thread-safe if they are used concurrently
+         */
+        public Builder(Map<String, String> names) {
+            this.names = names;
+        }
+
+        /**
+         * Appends one movie. Movies without a director are ignored.
+         *
+         * @param movie the movie
+         * @return this builder
+         */
+        public Builder add(MovieDTO movie) {
+            return add(movie.getDirector(), movie.getYear(), movie.getRuntime(), movie.getGenre());
+        }
+
+        /**
+         * Appends one movie. Movies without a director are ignored.
+         *
+         * @param director the director name
+         * @param year the raw release year, may be {@code null}
+         * @param runtime the raw runtime, may be {@code null}
+         * @param genre the raw comma-separated genres, may be {@code null}
+         * @return this builder
+         */
+        public Builder add(String director, String year, String runtime, String genre) {
+            if (director == null) {
+                return this;
+            }
+            ensureCapacity();
+            directorIds[size] = directorId(director);
+            years[size] = leadingInt(year);
+            runtimes[size] = leadingInt(runtime);
+            int genreEnd = genreOffsets[size];
+            if (genre != null) {
+                for (String name : genre.split(",")) {
+                    String trimmed = name.trim();
+                    if (!trimmed.isEmpty() && !"N/A".equals(trimmed)) {
+                        if (genreEnd == genreIds.length) {
+                            genreIds = Arrays.copyOf(genreIds, genreIds.length * 2);
+                        }
+                        genreIds[genreEnd++] = genreId(trimmed);
+                    }
+                }
+            }
+            size++;
+            genreOffsets[size] = genreEnd;
+            return this;
+        }
+
+        /**
+         * Appends every movie of another store, translating its dictionary codes into this builder's.
+         *
+         * @param other the store to append
+         * @return this builder
+         */
+        public Builder addAll(MovieColumns other) {
+            return addAll(other, 0, other.size());
+        }
+
+        /**
+         * Appends a contiguous run of the movies of another store, translating its dictionary codes into this
+         * builder's. Only the names used by the appended movies are added to the dictionaries.
+         *
+         * @param other the store to copy from
+         * @param fromMovie the index of the first movie to append
+         * @param toMovie the index after the last movie to append
+         * @return this builder
+         */
+        public Builder addAll(MovieColumns other, int fromMovie, int toMovie) {
+            int[] directorCodes = new int[other.directors.length];
+            Arrays.fill(directorCodes, -1);
+            int[] genreCodes = new int[other.genres.length];
+            Arrays.fill(genreCodes, -1);
+            for (int movie = fromMovie; movie < toMovie; movie++) {
+                int otherDirector = other.directorIds[movie];
+                if (directorCodes[otherDirector] < 0) {
+                    directorCodes[otherDirector] = directorId(other.directors[otherDirector]);
+                }
+                for (int i = other.genreOffsets[movie]; i < other.genreOffsets[movie + 1]; i++) {
+                    if (genreCodes[other.genreIds[i]] < 0) {
+                        genreCodes[other.genreIds[i]] = genreId(other.genres[other.genreIds[i]]);
+                    }
+                }
+            }
+            for (int movie = fromMovie; movie < toMovie; movie++) {
+                ensureCapacity();
+                directorIds[size] = directorCodes[other.directorIds[movie]];
+                years[size] = other.years[movie];
+                runtimes[size] = other.runtimes[movie];
+                int genreEnd = genreOffsets[size];
+                int otherStart = other.genreOffsets[movie];
+                int otherEnd = other.genreOffsets[movie + 1];
+                int required = genreEnd + otherEnd - otherStart;
+                if (required > genreIds.length) {
+                    genreIds = Arrays.copyOf(genreIds, Math.max(genreIds.length * 2, required));
+                }
+                for (int i = otherStart; i < otherEnd; i++) {
+                    genreIds[genreEnd++] = genreCodes[other.genreIds[i]];
+                }
+                size++;
+                genreOffsets[size] = genreEnd;
+            }
+            return this;
+        }
+
+        /**
+         * @return the number of movies appended so far
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * @return the store of the movies appended so far
+         */
+        public MovieColumns build() {
+            return new MovieColumns(this);
+        }
+
+        private int directorId(String director) {
+            return directorIndex.computeIfAbsent(director, name -> {
+                directors.add(intern(name));
+                return directors.size() - 1;
+            });
+        }
+
+        private int genreId(String genre) {
+            return genreIndex.computeIfAbsent(genre, name -> {
+                genres.add(intern(name));
+                return genres.size() - 1;
+            });
+        }
+
+        private String intern(String name) {
+            String interned = names.putIfAbsent(name, name);
+            return interned != null ? interned : name;
+        }
+
+        private void ensureCapacity() {
+            if (size == directorIds.length) {
+                int capacity = directorIds.length * 2;
+                directorIds = Arrays.copyOf(directorIds, capacity);
+                years = Arrays.copyOf(years, capacity);
+                runtimes = Arrays.copyOf(runtimes, capacity);
+                genreOffsets = Arrays.copyOf(genreOffsets, capacity + 1);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.config.AdaptiveConcurrencyProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Predicate;
+
+/**
+ * Adaptive limit of the requests in flight to the movie API, using additive increase and multiplicative
+ * decrease (AIMD).
+ *
+ * <p>Every request needs a slot; while all slots are taken, requests wait in order, without blocking a
+ * thread, for one to be released. Each request that succeeds within {@code api.concurrency.latency-threshold}
+ * grows the limit by {@code 1 / limit}, so about one slot is added per limit's worth of successful requests,
+ * up to {@code api.concurrency.max-limit}. A request that fails with a sign of overload (429, 5xx, a
+ * connection error or a timeout), or takes longer than the threshold, multiplies the limit by
+ * {@code api.concurrency.backoff-ratio}, down to {@code api.concurrency.min-limit}. The crawl therefore
+ * settles close to the highest concurrency the movie API serves without throttling.</p>
+ *
+ * <p>The current limit and the requests in flight are published as the {@code movie.api.concurrency.limit}
+ * and {@code movie.api.concurrency.in-flight} gauges.</p>
+ */
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdaptiveConcurrencyLimiter.class);
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final long latencyThresholdNanos;
+    private final Deque<MonoSink<Long>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    public AdaptiveConcurrencyLimiter(AdaptiveConcurrencyProperties properties, MeterRegistry meterRegistry) {
+        if (properties.minLimit() < 1 || properties.maxLimit() < properties.minLimit()
+                || properties.backoffRatio() <= 0 || properties.backoffRatio() >= 1) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 1 <= min-limit <= max-limit "
+                    + "and the backoff ratio must be between 0 and 1");
+        }
+        this.minLimit = properties.minLimit();
+        this.maxLimit = properties.maxLimit();
+        this.backoffRatio = properties.backoffRatio();
+        this.latencyThresholdNanos = properties.latencyThreshold().toNanos();
+        this.limit = Math.max(minLimit, Math.min(maxLimit, properties.initialLimit()));
+        Gauge.builder("movie.api.concurrency.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Adaptive limit of the requests in flight to the movie API")
+                .register(meterRegistry);
+        Gauge.builder("movie.api.concurrency.in-flight", this, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests in flight to the movie API")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs the call once a slot is free and adjusts the limit from its outcome.
+     *
+     * @param call the request to the movie API, subscribed to lazily
+     * @param isOverload which errors show that the movie API is overloaded
+     * @param <T> the type emitted by the call
+     * @return the call, subscribed once it holds a slot
+     */
+    public <T> Mono<T> limit(Mono<T> call, Predicate<Throwable> isOverload) {
+        return Mono.usingWhen(acquire(),
+                startedAt -> call,
+                startedAt -> Mono.fromRunnable(() -> release(
+                        isTooSlow(startedAt) ? Outcome.OVERLOAD : Outcome.SUCCESS)),
+                (startedAt, error) -> Mono.fromRunnable(() -> release(
+                        isOverload.test(error) || isTooSlow(startedAt) ? Outcome.OVERLOAD : Outcome.IGNORED)),
+                startedAt -> Mono.fromRunnable(() -> release(
+                        isTooSlow(startedAt) ? Outcome.OVERLOAD : Outcome.IGNORED)));
+    }
+
+    /**
+     * @return the current limit, rounded down to whole slots
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return the number of slots taken
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    /**
+     * Takes a slot, waiting for one if none is free. A slot granted to a caller that cancelled meanwhile is
+     * discarded by the sink and released again.
+     *
+     * @return a {@link Mono} emitting the {@link System#nanoTime()} the slot was taken at
+     */
+    private Mono<Long> acquire() {
+        return Mono.<Long>create(sink -> {
+                    synchronized (this) {
+                        if (inFlight >= (int) limit || !waiters.isEmpty()) {
+                            waiters.add(sink);
+                            sink.onCancel(() -> cancel(sink));
+                            return;
+                        }
+                        inFlight++;
+                    }
+                    sink.success(System.nanoTime());
+                })
+                .doOnDiscard(Long.class, startedAt -> release(Outcome.IGNORED));
+    }
+
+    private boolean isTooSlow(long startedAt) {
+        return System.nanoTime() - startedAt > latencyThresholdNanos;
+    }
+
+    private void release(Outcome outcome) {
+        synchronized (this) {
+            inFlight--;
+            if (outcome == Outcome.OVERLOAD) {
+                int previous = (int) limit;
+                limit = Math.max(minLimit, limit * backoffRatio);
+                if ((int) limit < previous) {
+                    LOGGER.info("Movie API shows overload, concurrency limit lowered to {}.", (int) limit);
+                }
+            } else if (outcome == Outcome.SUCCESS) {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+        }
+        grantWaiters();
+    }
+
+    private synchronized void cancel(MonoSink<Long> waiter) {
+        waiters.remove(waiter);
+    }
+
+    private void grantWaiters() {
+        while (true) {
+            MonoSink<Long> next;
+            synchronized (this) {
+                if (inFlight >= (int) limit || waiters.isEmpty()) {
+                    return;
+                }
+                next = waiters.poll();
+                inFlight++;
+            }
+            next.success(System.nanoTime());
+        }
+    }
+
+    /**
+     * How a request completed, as far as the limit is concerned: requests that neither succeeded nor showed
+     * overload, such as a 404 or a cancelled fast request, leave it unchanged.
+     */
+    private enum Outcome { SUCCESS, OVERLOAD, IGNORED }
+}
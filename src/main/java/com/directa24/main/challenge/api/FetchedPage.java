@@ -0,0 +1,23 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.aggregation.MovieColumns;
+
+/**
+ * Outcome of fetching a movie page against the fingerprint it had on the previous crawl.
+ *
+ * @param pageNumber the page number
+ * @param movies the movies of the page, decoded into a store of their own, or {@code null} if the page has not
+ *               changed since the previous crawl
+ * @param summary the summary of the decoded page, or {@code null} if the page has not changed
+ * @param fingerprint the fingerprint of the page as just fetched
+ */
+public record FetchedPage(int pageNumber, MovieColumns movies, MoviePageDecoder.PageSummary summary,
+                          PageFingerprint fingerprint) {
+
+    /**
+     * @return whether the page changed, and was therefore decoded
+     */
+    public boolean modified() {
+        return movies != null;
+    }
+}
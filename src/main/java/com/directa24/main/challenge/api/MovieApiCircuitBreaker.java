@@ -0,0 +1,122 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.exception.UpstreamUnavailableException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+/**
+ * Circuit breaker guarding the calls to the movie API.
+ *
+ * <p>After {@code api.circuit-breaker.failure-threshold} consecutive failed calls the circuit opens and
+ * every call fails immediately with an {@link UpstreamUnavailableException}, without touching the network,
+ * for {@code api.circuit-breaker.open-duration}. The first call after that period is let through as a
+ * probe: if it succeeds the circuit closes again, otherwise it stays open for another period. Calls made
+ * while the probe is in flight are rejected.</p>
+ */
+@Component
+public class MovieApiCircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieApiCircuitBreaker.class);
+    private final int failureThreshold;
+    private final long openDurationNanos;
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private volatile long openedAt;
+
+    public MovieApiCircuitBreaker(@Value("${api.circuit-breaker.failure-threshold:5}") int failureThreshold,
+                                  @Value("${api.circuit-breaker.open-duration:PT30S}") Duration openDuration) {
+        if (failureThreshold < 1) {
+            throw new IllegalArgumentException("Failure threshold must be at least 1");
+        }
+        this.failureThreshold = failureThreshold;
+        this.openDurationNanos = openDuration.toNanos();
+    }
+
+    /**
+     * Runs the call if the circuit allows it and records its outcome.
+     *
+     * @param call the call to the movie API, subscribed to lazily
+     * @param isFailure which errors count as a failure of the movie API; other errors are treated as
+     *                  answers from a healthy API
+     * @param <T> the type emitted by the call
+     * @return the call, or a {@link Mono} failing with {@link UpstreamUnavailableException} if the circuit is open
+     */
+    public <T> Mono<T> protect(Mono<T> call, Predicate<Throwable> isFailure) {
+        return Mono.defer(() -> {
+            if (!tryAcquirePermission()) {
+                return Mono.error(new UpstreamUnavailableException("The circuit to the movie API is open"));
+            }
+            return call
+                    .doOnSuccess(value -> onSuccess())
+                    .doOnError(error -> {
+                        if (isFailure.test(error)) {
+                            onFailure();
+                        } else {
+                            onSuccess();
+                        }
+                    })
+                    .doOnCancel(this::onCancel);
+        });
+    }
+
+    /**
+     * @return the current state of the circuit
+     */
+    public State getState() {
+        return state.get();
+    }
+
+    private boolean tryAcquirePermission() {
+        State current = state.get();
+        if (current == State.CLOSED) {
+            return true;
+        }
+        if (current == State.OPEN && System.nanoTime() - openedAt >= openDurationNanos) {
+            // Only the caller winning this transition gets to probe the movie API
+            if (state.compareAndSet(State.OPEN, State.HALF_OPEN)) {
+                LOGGER.info("Circuit to the movie API is half-open, probing with one call.");
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void onSuccess() {
+        consecutiveFailures.set(0);
+        if (state.getAndSet(State.CLOSED) != State.CLOSED) {
+            LOGGER.info("Circuit to the movie API is closed again.");
+        }
+    }
+
+    private void onFailure() {
+        if (state.get() == State.HALF_OPEN || consecutiveFailures.incrementAndGet() >= failureThreshold) {
+            open();
+        }
+    }
+
+    private void onCancel() {
+        // A cancelled probe proves nothing: reopen the circuit with an elapsed period so the next call probes
+        if (state.get() == State.HALF_OPEN) {
+            openedAt = System.nanoTime() - openDurationNanos;
+            state.compareAndSet(State.HALF_OPEN, State.OPEN);
+        }
+    }
+
+    private void open() {
+        openedAt = System.nanoTime();
+        if (state.getAndSet(State.OPEN) != State.OPEN) {
+            LOGGER.warn("Circuit to the movie API is open after {} consecutive failures, failing fast for {} ms.",
+                    consecutiveFailures.get(), Duration.ofNanos(openDurationNanos).toMillis());
+        }
+    }
+}
@@ -1,33 +1,273 @@
 package com.directa24.main.challenge.api;
 
-import com.directa24.main.challenge.dto.MoviePageDTO;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import com.directa24.main.challenge.config.PageRetryProperties;
+import com.directa24.main.challenge.exception.UpstreamTimeoutException;
+import com.directa24.main.challenge.exception.UpstreamUnavailableException;
 import com.directa24.main.challenge.util.ApiConstants;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.function.IntFunction;
 
 @Component
 public class MovieApiClient {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieApiClient.class);
     private final WebClient webClient;
+    private final MoviePageDecoder moviePageDecoder;
+    private final PageRetryProperties pageRetryProperties;
+    private final MovieApiCircuitBreaker circuitBreaker;
+    private final MovieApiMetrics apiMetrics;
+    private final MovieApiRateLimiter rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int fetchConcurrency;
+    private final int maxPageBytes;
 
-    public MovieApiClient(@Value("${api.base-url}") String baseUrl,
-                          WebClient.Builder webClientBuilder) {
-        this.webClient = webClientBuilder.baseUrl(baseUrl).build();
+    public MovieApiClient(WebClient movieApiWebClient,
+                          HttpTransportProperties httpTransportProperties,
+                          PageRetryProperties pageRetryProperties,
+                          MovieApiCircuitBreaker circuitBreaker,
+                          MovieApiMetrics apiMetrics,
+                          MovieApiRateLimiter rateLimiter,
+                          AdaptiveConcurrencyLimiter concurrencyLimiter,
+                          @Value("${api.fetch.concurrency:8}") int fetchConcurrency,
+                          MoviePageDecoder moviePageDecoder) {
+        this.webClient = movieApiWebClient;
+        this.moviePageDecoder = moviePageDecoder;
+        this.pageRetryProperties = pageRetryProperties;
+        this.circuitBreaker = circuitBreaker;
+        this.apiMetrics = apiMetrics;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.fetchConcurrency = fetchConcurrency;
+        this.maxPageBytes = Math.toIntExact(httpTransportProperties.maxInMemorySize().toBytes());
     }
 
     /**
-     * Fetch movies for a specific page and map it to a DTO.
+     * Fetch a page and decode it only if it changed since it was last fetched.
+     *
      * @param pageNumber the page to fetch
-     * @return MoviePageDTO containing page data
+     * @param known the fingerprint of the page on the previous crawl, or {@code null} if unknown
+     * @return the fetched page
+     * @see #fetchPageReactive(int, PageFingerprint)
      */
-    public MoviePageDTO fetchMovies(int pageNumber) {
+    public FetchedPage fetchPage(int pageNumber, PageFingerprint known) {
+        return fetchPageReactive(pageNumber, known).block();
+    }
+
+    /**
+     * Fetch a page without blocking the calling thread, and decode it only if it changed since it was
+     * last fetched.
+     *
+     * <p>If the previous fetch returned an entity tag, the request is made conditional with
+     * {@code If-None-Match} and a {@code 304 Not Modified} answer is taken as unchanged without any body
+     * being transferred. Otherwise the SHA-256 of the page's {@code data} array is compared with the known
+     * one, and a page with identical movies and the same {@code per_page} is not decoded, whatever its
+     * {@code total} and {@code total_pages}. Unchanged pages are emitted without movies, with the
+     * fingerprint just fetched.</p>
+     *
+     * <p>A changed page is decoded with the streaming {@link MoviePageDecoder} straight into a
+     * {@link MovieColumns} chunk of its own, so only the fields aggregated per director are kept and no
+     * object is created per movie. Bodies larger than {@code api.http.max-in-memory-size} fail with a
+     * DataBufferLimitException.</p>
+     *
+     * <p>Bodies are hashed and decoded on the parallel scheduler rather than on the event loop that received
+     * them, so parsing one page never delays the I/O of the other pages sharing that event loop. A page keeps
+     * its concurrency slot until it is decoded, so the bodies waiting for a parser are bounded by the
+     * concurrency limit.</p>
+     *
+     * <p>Transient failures (connection errors, timeouts, 429 and 5xx responses) are retried for this page
+     * only, up to {@code api.retry.max-attempts} attempts with jittered exponential backoff. All attempts
+     * for the page must complete within {@code api.retry.page-timeout}.</p>
+     *
+     * <p>The page is fetched through the {@link MovieApiCircuitBreaker}: a page that still fails after its
+     * retries counts as one failure of the movie API, and while the circuit is open the page fails
+     * immediately without a request being sent. Latency, size and retries of the page are recorded in
+     * {@link MovieApiMetrics}.</p>
+     *
+     * <p>Every attempt waits for a token of the {@link MovieApiRateLimiter}, then for a slot of the
+     * {@link AdaptiveConcurrencyLimiter}, so retries and concurrent crawls share the same request budget.
+     * The wait counts towards the page deadline.</p>
+     *
+     * @param pageNumber the page to fetch
+     * @param known the fingerprint of the page on the previous crawl, or {@code null} to always decode it
+     * @return a {@link Mono} emitting the fetched page
+     * @throws UpstreamTimeoutException (signalled) if the page deadline expires
+     * @throws UpstreamUnavailableException (signalled) if the circuit to the movie API is open
+     */
+    public Mono<FetchedPage> fetchPageReactive(int pageNumber, PageFingerprint known) {
         return webClient.get()
                 .uri(uriBuilder -> uriBuilder.path(ApiConstants.MOVIES_RESOURCE + "/search")
                         .queryParam(ApiConstants.QUERY_PARAM_PAGE, pageNumber)
                         .build())
-                .retrieve()
-                .bodyToMono(MoviePageDTO.class)
-                .block();
+                .headers(headers -> {
+                    if (known != null && known.etag() != null) {
+                        headers.setIfNoneMatch(known.etag());
+                    }
+                })
+                .exchangeToMono(response -> readPage(pageNumber, known, response))
+                .as(attempt -> concurrencyLimiter.limit(attempt, MovieApiClient::isTransient))
+                .as(rateLimiter::throttle)
+                .retryWhen(pageRetry(pageNumber))
+                .timeout(pageRetryProperties.pageTimeout(), Mono.error(() -> new UpstreamTimeoutException(
+                        "Page " + pageNumber + " was not fetched within " + pageRetryProperties.pageTimeout())))
+                .as(page -> circuitBreaker.protect(page, MovieApiClient::isUpstreamFailure))
+                .as(page -> apiMetrics.timePageFetch(page, FetchedPage::summary));
+    }
+
+    /**
+     * Stream every page of the catalogue, decoding only the pages that changed since they were last
+     * fetched.
+     *
+     * <p>The first page is fetched to discover the total page count; the remaining pages are
+     * then requested with at most {@code api.fetch.concurrency} requests in flight. Pages are
+     * emitted in arrival order, not page order, and compared with their known fingerprint as by
+     * {@link #fetchPageReactive(int, PageFingerprint)}. Each page is retried on its own, so a transient
+     * failure never discards the pages already emitted. The whole stream must complete within
+     * {@code api.retry.crawl-timeout}.</p>
+     *
+     * @param knownFingerprints the fingerprint of each page on the previous crawl, or {@code null} if unknown
+     * @return a {@link Flux} emitting each fetched page of the catalogue
+     */
+    public Flux<FetchedPage> streamPages(IntFunction<PageFingerprint> knownFingerprints) {
+        return fetchPageReactive(1, knownFingerprints.apply(1))
+                .flatMapMany(firstPage -> Flux.concat(
+                        Mono.just(firstPage),
+                        Flux.range(2, Math.max(0, firstPage.fingerprint().totalPages() - 1))
+                                .flatMap(page -> fetchPageReactive(page, knownFingerprints.apply(page)),
+                                        fetchConcurrency)))
+                .timeout(pageRetryProperties.crawlTimeout(), Flux.error(() -> new UpstreamTimeoutException(
+                        "Catalogue was not crawled within " + pageRetryProperties.crawlTimeout())));
+    }
+
+    private Retry pageRetry(int pageNumber) {
+        return Retry.backoff(pageRetryProperties.maxAttempts() - 1L, pageRetryProperties.minBackoff())
+                .maxBackoff(pageRetryProperties.maxBackoff())
+                .jitter(pageRetryProperties.jitter())
+                .filter(MovieApiClient::isTransient)
+                .doBeforeRetry(signal -> {
+                    apiMetrics.recordRetry();
+                    LOGGER.warn("Retrying page {} after attempt {} failed: {}",
+                            pageNumber, signal.totalRetries() + 1, signal.failure().getMessage());
+                })
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+    }
+
+    /**
+     * Failures worth retrying: the request could not be completed, or the API reported an overload
+     * or server-side error. Other 4xx responses and malformed pages fail immediately.
+     */
+    private static boolean isTransient(Throwable error) {
+        if (error instanceof WebClientResponseException response) {
+            return response.getStatusCode().is5xxServerError()
+                    || response.getStatusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+        }
+        return error instanceof WebClientRequestException;
+    }
+
+    /**
+     * Failures counted by the circuit breaker: transient failures that outlived their retries, and deadlines.
+     */
+    private static boolean isUpstreamFailure(Throwable error) {
+        return isTransient(error) || error instanceof UpstreamTimeoutException;
+    }
+
+    private Mono<FetchedPage> readPage(int pageNumber, PageFingerprint known, ClientResponse response) {
+        if (known != null && response.statusCode().value() == HttpStatus.NOT_MODIFIED.value()) {
+            return response.releaseBody().thenReturn(new FetchedPage(pageNumber, null, null, known));
+        }
+        if (response.statusCode().isError()) {
+            return response.createError();
+        }
+        String etag = response.headers().asHttpHeaders().getETag();
+        return response.bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, maxPageBytes))
+                .doOnNext(body -> apiMetrics.recordPageBytes(body.readableByteCount()))
+                .publishOn(Schedulers.parallel())
+                .map(body -> decodeIfChanged(pageNumber, known, etag, body))
+                .doOnDiscard(DataBuffer.class, DataBufferUtils::release);
+    }
+
+    private FetchedPage decodeIfChanged(int pageNumber, PageFingerprint known, String etag, DataBuffer body) {
+        MoviePageDecoder.PageLayout layout = scanPage(body);
+        PageFingerprint fingerprint = new PageFingerprint(etag, contentHash(body, layout), layout.perPage(),
+                layout.totalPages());
+        if (known != null && fingerprint.contentHash().equals(known.contentHash())
+                && fingerprint.perPage() == known.perPage()) {
+            DataBufferUtils.release(body);
+            return new FetchedPage(pageNumber, null, null, fingerprint);
+        }
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+        MoviePageDecoder.PageSummary summary = decodePage(body, movies);
+        return new FetchedPage(pageNumber, movies.build(), summary, fingerprint);
+    }
+
+    /**
+     * Scans the page body, leaving its read position where it was.
+     */
+    private MoviePageDecoder.PageLayout scanPage(DataBuffer body) {
+        int readPosition = body.readPosition();
+        try (InputStream in = body.asInputStream()) {
+            return moviePageDecoder.scan(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode movie page", e);
+        } finally {
+            body.readPosition(readPosition);
+        }
+    }
+
+    /**
+     * Hashes the bytes of the {@code data} array located by the layout of the page body.
+     */
+    private static String contentHash(DataBuffer body, MoviePageDecoder.PageLayout layout) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        long offset = 0;
+        try (DataBuffer.ByteBufferIterator buffers = body.readableByteBuffers()) {
+            while (buffers.hasNext()) {
+                ByteBuffer buffer = buffers.next();
+                int from = (int) Math.min(buffer.remaining(), Math.max(0, layout.dataFrom() - offset));
+                int to = (int) Math.min(buffer.remaining(), Math.max(0, layout.dataTo() - offset));
+                offset += buffer.remaining();
+                if (from < to) {
+                    digest.update(buffer.slice(buffer.position() + from, to - from));
+                }
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private MoviePageDecoder.PageSummary decodePage(DataBuffer body, MovieColumns.Builder movies) {
+        try (InputStream in = body.asInputStream(true)) {
+            return moviePageDecoder.decode(in, movies);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to decode movie page", e);
+        }
     }
 }
@@ -0,0 +1,104 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.exception.UpstreamUnavailableException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * Meters describing the traffic to the movie API.
+ *
+ * <ul>
+ *     <li>{@code movie.api.page.fetch}: latency of each page, across all of its attempts, tagged with the
+ *     {@code outcome} ({@code success}, {@code error} or {@code rejected} by the open circuit), with a
+ *     percentile histogram;</li>
+ *     <li>{@code movie.api.page.bytes}: size of each page body, after decompression;</li>
+ *     <li>{@code movie.api.pages} and {@code movie.api.movies}: pages and movies received, whose rate gives
+ *     the crawl throughput;</li>
+ *     <li>{@code movie.api.pages.unchanged}: pages found unchanged since the previous crawl, by entity tag
+ *     or body hash, and therefore not decoded;</li>
+ *     <li>{@code movie.api.page.retries}: retried page attempts.</li>
+ * </ul>
+ *
+ * <p>Each individual HTTP exchange is also timed by Spring Boot as {@code http.client.requests}.</p>
+ */
+@Component
+public class MovieApiMetrics {
+
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary pageBytes;
+    private final Counter pages;
+    private final Counter movies;
+    private final Counter unchangedPages;
+    private final Counter retries;
+
+    public MovieApiMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.pageBytes = DistributionSummary.builder("movie.api.page.bytes")
+                .description("Size of the movie page bodies")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        this.pages = Counter.builder("movie.api.pages")
+                .description("Movie pages received")
+                .register(meterRegistry);
+        this.movies = Counter.builder("movie.api.movies")
+                .description("Movies received")
+                .register(meterRegistry);
+        this.unchangedPages = Counter.builder("movie.api.pages.unchanged")
+                .description("Movie pages found unchanged since the previous crawl, and not decoded")
+                .register(meterRegistry);
+        this.retries = Counter.builder("movie.api.page.retries")
+                .description("Retried movie page attempts")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Times a page fetch from subscription to its outcome, and counts the page on success: with its movies
+     * if it was decoded, as unchanged otherwise.
+     *
+     * @param fetch the page fetch, subscribed to lazily
+     * @param decodedPage the summary of the page decoded by the fetch, or {@code null} if the page was unchanged
+     * @param <T> the type of the fetch result
+     * @return the timed fetch
+     */
+    public <T> Mono<T> timePageFetch(Mono<T> fetch, Function<? super T, MoviePageDecoder.PageSummary> decodedPage) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return fetch
+                    .doOnSuccess(result -> {
+                        sample.stop(pageFetchTimer("success"));
+                        pages.increment();
+                        MoviePageDecoder.PageSummary page = result == null ? null : decodedPage.apply(result);
+                        if (result != null && page == null) {
+                            unchangedPages.increment();
+                        } else if (page != null) {
+                            movies.increment(page.movieCount());
+                        }
+                    })
+                    .doOnError(error -> sample.stop(pageFetchTimer(
+                            error instanceof UpstreamUnavailableException ? "rejected" : "error")));
+        });
+    }
+
+    public void recordPageBytes(int bytes) {
+        pageBytes.record(bytes);
+    }
+
+    public void recordRetry() {
+        retries.increment();
+    }
+
+    private Timer pageFetchTimer(String outcome) {
+        return Timer.builder("movie.api.page.fetch")
+                .description("Latency of a movie page, across all of its attempts")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+}
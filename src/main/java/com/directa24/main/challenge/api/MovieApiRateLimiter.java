@@ -0,0 +1,67 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.config.RateLimitProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Token bucket limiting the rate of requests sent to the movie API.
+ *
+ * <p>The bucket holds up to {@code api.rate-limit.burst} tokens and is refilled at
+ * {@code api.rate-limit.permits-per-second}. Every request takes one token; when the bucket is empty the
+ * token is reserved ahead and the request is delayed, without blocking a thread, until the refill covers
+ * it. Reservations are served in order, so requests queued behind an empty bucket go out at the
+ * configured rate. A rate of 0 disables the limit.</p>
+ */
+@Component
+public class MovieApiRateLimiter {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private final double nanosPerPermit;
+    private final double burst;
+    private double tokens;
+    private long refilledAt;
+
+    public MovieApiRateLimiter(RateLimitProperties properties) {
+        if (properties.permitsPerSecond() < 0 || properties.burst() < 1) {
+            throw new IllegalArgumentException("Rate limit must not be negative and burst must be at least 1");
+        }
+        this.nanosPerPermit = properties.permitsPerSecond() == 0 ? 0
+                : NANOS_PER_SECOND / properties.permitsPerSecond();
+        this.burst = properties.burst();
+        this.tokens = burst;
+        this.refilledAt = System.nanoTime();
+    }
+
+    /**
+     * Delays the call until a token is available.
+     *
+     * @param call the request to the movie API, subscribed to lazily
+     * @param <T> the type emitted by the call
+     * @return the call, subscribed once it may be sent
+     */
+    public <T> Mono<T> throttle(Mono<T> call) {
+        if (nanosPerPermit == 0) {
+            return call;
+        }
+        return Mono.defer(() -> {
+            long wait = reserve(System.nanoTime());
+            return wait == 0 ? call : Mono.delay(Duration.ofNanos(wait)).then(call);
+        });
+    }
+
+    /**
+     * Takes one token, reserving it ahead if the bucket is empty.
+     *
+     * @param now the current {@link System#nanoTime()}
+     * @return the nanoseconds to wait before the token is available
+     */
+    synchronized long reserve(long now) {
+        tokens = Math.min(burst, tokens + (now - refilledAt) / nanosPerPermit);
+        refilledAt = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens * nanosPerPermit);
+    }
+}
@@ -0,0 +1,328 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Consumer;
+
+/**
+ * Token-stream decoder for a page of the movie search API.
+ *
+ * <p>Only {@code total_pages} and the fields needed by the caller are read: the {@code Director} of
+ * each movie when counting, plus its {@code Year}, {@code Runtime} and {@code Genre} when filling a
+ * {@link MovieColumns} store. Every other field (Title, Actors, Plot, ...) is skipped at the token level
+ * without being decoded into a {@link String} or a tree node.</p>
+ *
+ * <p>When decoding straight into a {@link DirectorCounter}, director names are counted from the
+ * parser's character buffer and a {@link String} is only created for directors not seen before.</p>
+ */
+@Component
+public class MoviePageDecoder {
+
+    private static final String FIELD_PER_PAGE = "per_page";
+    private static final String FIELD_TOTAL_PAGES = "total_pages";
+    private static final String FIELD_DATA = "data";
+    private static final String FIELD_DIRECTOR = "Director";
+    private static final String FIELD_YEAR = "Year";
+    private static final String FIELD_RUNTIME = "Runtime";
+    private static final String FIELD_GENRE = "Genre";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * Summary of a decoded page.
+     *
+     * @param totalPages the total number of pages reported by the page
+     * @param movieCount the number of movies on the page
+     * @param hasData whether the page contained a {@code data} array
+     */
+    public record PageSummary(int totalPages, int movieCount, boolean hasData) {
+    }
+
+    /**
+     * Layout of a page body, read without decoding its movies.
+     *
+     * @param perPage the number of movies per page reported by the page
+     * @param totalPages the total number of pages reported by the page
+     * @param dataFrom the byte offset of the {@code data} array in the body
+     * @param dataTo the byte offset just after the {@code data} array, equal to {@code dataFrom} if the page
+     *               has no {@code data} array
+     */
+    public record PageLayout(int perPage, int totalPages, long dataFrom, long dataTo) {
+    }
+
+    /**
+     * Reads the {@code per_page} and {@code total_pages} of a page and locates its {@code data} array, whose
+     * movies are skipped at the token level.
+     *
+     * @param body the JSON page body
+     * @return the {@link PageLayout} of the page
+     * @throws IOException if the body cannot be read or is not a valid page
+     */
+    public PageLayout scan(InputStream body) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Invalid JSON structure: page is not an object.");
+            }
+
+            int perPage = 0;
+            int totalPages = 0;
+            long dataFrom = 0;
+            long dataTo = 0;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+
+                if (FIELD_PER_PAGE.equals(field)) {
+                    perPage = parser.getValueAsInt(0);
+                } else if (FIELD_TOTAL_PAGES.equals(field)) {
+                    totalPages = parser.getValueAsInt(0);
+                } else if (FIELD_DATA.equals(field) && value == JsonToken.START_ARRAY) {
+                    dataFrom = parser.currentTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    dataTo = parser.currentTokenLocation().getByteOffset() + 1;
+                } else if (FIELD_DATA.equals(field) && value != JsonToken.VALUE_NULL) {
+                    throw new JsonParseException(parser, "Invalid JSON structure: 'data' is not an array.");
+                } else {
+                    parser.skipChildren();
+                }
+            }
+
+            return new PageLayout(perPage, totalPages, dataFrom, dataTo);
+        }
+    }
+
+    /**
+     * Decodes a page, passing the director of every movie to the given consumer.
+     *
+     * <p>Movies without a director are counted but not passed to the consumer.</p>
+     *
+     * @param body the JSON page body
+     * @param directorConsumer receives each director name in page order
+     * @return a {@link PageSummary} of the page
+     * @throws IOException if the body cannot be read or is not a valid page
+     */
+    public PageSummary decode(InputStream body, Consumer<String> directorConsumer) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser, directorHandler(directorParser -> {
+                String director = directorParser.getValueAsString();
+                if (director != null) {
+                    directorConsumer.accept(director);
+                }
+            }));
+        }
+    }
+
+    /**
+     * Decodes a page, counting the director of every movie in the given counter.
+     *
+     * @param body the JSON page body
+     * @param directorCounter the counter receiving one movie per director occurrence
+     * @return a {@link PageSummary} of the page
+     * @throws IOException if the body cannot be read or is not a valid page
+     */
+    public PageSummary decode(InputStream body, DirectorCounter directorCounter) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser, countingHandler(directorCounter));
+        }
+    }
+
+    /**
+     * Decodes a page, appending every movie to the given column store builder.
+     *
+     * @param body the JSON page body
+     * @param movies the builder receiving each movie
+     * @return a {@link PageSummary} of the page
+     * @throws IOException if the body cannot be read or is not a valid page
+     */
+    public PageSummary decode(InputStream body, MovieColumns.Builder movies) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return decode(parser, new StatsFieldsHandler(movies::add));
+        }
+    }
+
+    /**
+     * Decodes a stream of movie objects, such as an NDJSON dump with one movie per line, appending every
+     * movie to the given column store builder.
+     *
+     * @param body the sequence of JSON movie objects
+     * @param movies the builder receiving each movie
+     * @return the number of movies decoded
+     * @throws IOException if the body cannot be read or contains something other than movie objects
+     */
+    public int decodeMovies(InputStream body, MovieColumns.Builder movies) throws IOException {
+        return decodeMovies(body, new StatsFieldsHandler(movies::add));
+    }
+
+    private int decodeMovies(InputStream body, MovieHandler movieHandler) throws IOException {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            int movieCount = decodeMovieObjects(parser, movieHandler);
+            if (parser.currentToken() != null) {
+                throw new JsonParseException(parser, "Invalid JSON structure: movie is not an object.");
+            }
+            return movieCount;
+        }
+    }
+
+    private PageSummary decode(JsonParser parser, MovieHandler movieHandler) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Invalid JSON structure: page is not an object.");
+        }
+
+        int totalPages = 0;
+        int movieCount = 0;
+        boolean hasData = false;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+
+            if (FIELD_TOTAL_PAGES.equals(field)) {
+                totalPages = parser.getValueAsInt(0);
+            } else if (FIELD_DATA.equals(field) && value == JsonToken.START_ARRAY) {
+                hasData = true;
+                movieCount = decodeMovieObjects(parser, movieHandler);
+                if (parser.currentToken() != JsonToken.END_ARRAY) {
+                    throw new JsonParseException(parser, "Invalid JSON structure: movie is not an object.");
+                }
+            } else if (FIELD_DATA.equals(field) && value != JsonToken.VALUE_NULL) {
+                throw new JsonParseException(parser, "Invalid JSON structure: 'data' is not an array.");
+            } else {
+                parser.skipChildren();
+            }
+        }
+
+        return new PageSummary(totalPages, movieCount, hasData);
+    }
+
+    /**
+     * Decodes consecutive movie objects, stopping at the first token that does not start one.
+     */
+    private int decodeMovieObjects(JsonParser parser, MovieHandler movieHandler) throws IOException {
+        int movieCount = 0;
+
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            movieCount++;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                parser.nextToken();
+
+                if (movieHandler.reads(field)) {
+                    movieHandler.read(field, parser);
+                }
+                parser.skipChildren();
+            }
+            movieHandler.endMovie();
+        }
+        return movieCount;
+    }
+
+    private static MovieHandler countingHandler(DirectorCounter directorCounter) {
+        return directorHandler(parser -> {
+            if (parser.currentToken() == JsonToken.VALUE_STRING) {
+                directorCounter.increment(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            } else if (parser.getValueAsString() != null) {
+                directorCounter.increment(parser.getValueAsString());
+            }
+        });
+    }
+
+    private static MovieHandler directorHandler(DirectorHandler directorHandler) {
+        return new MovieHandler() {
+            @Override
+            public boolean reads(String field) {
+                return FIELD_DIRECTOR.equals(field);
+            }
+
+            @Override
+            public void read(String field, JsonParser parser) throws IOException {
+                directorHandler.handle(parser);
+            }
+        };
+    }
+
+    /**
+     * Receives the fields of each movie that the caller reads; every other field is skipped.
+     */
+    private interface MovieHandler {
+
+        boolean reads(String field);
+
+        /**
+         * Receives the parser positioned on the value of a field accepted by {@link #reads(String)}.
+         */
+        void read(String field, JsonParser parser) throws IOException;
+
+        default void endMovie() {
+        }
+    }
+
+    /**
+     * Receives the parser positioned on the value of a movie's {@code Director} field.
+     */
+    @FunctionalInterface
+    private interface DirectorHandler {
+        void handle(JsonParser parser) throws IOException;
+    }
+
+    /**
+     * Receives the raw fields of a movie that feed the director statistics.
+     */
+    @FunctionalInterface
+    private interface StatsFieldsConsumer {
+        void accept(String director, String year, String runtime, String genre);
+    }
+
+    /**
+     * Reads the {@code Director}, {@code Year}, {@code Runtime} and {@code Genre} of each movie and passes
+     * them on once the movie object ends.
+     */
+    private static final class StatsFieldsHandler implements MovieHandler {
+
+        private final StatsFieldsConsumer consumer;
+        private String director;
+        private String year;
+        private String runtime;
+        private String genre;
+
+        StatsFieldsHandler(StatsFieldsConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public boolean reads(String field) {
+            return FIELD_DIRECTOR.equals(field) || FIELD_YEAR.equals(field)
+                    || FIELD_RUNTIME.equals(field) || FIELD_GENRE.equals(field);
+        }
+
+        @Override
+        public void read(String field, JsonParser parser) throws IOException {
+            String value = parser.getValueAsString();
+            switch (field) {
+                case FIELD_DIRECTOR -> director = value;
+                case FIELD_YEAR -> year = value;
+                case FIELD_RUNTIME -> runtime = value;
+                default -> genre = value;
+            }
+        }
+
+        @Override
+        public void endMovie() {
+            if (director != null) {
+                consumer.accept(director, year, runtime, genre);
+            }
+            director = null;
+            year = null;
+            runtime = null;
+            genre = null;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.directa24.main.challenge.api;
+
+/**
+ * Identifies the content of one movie page as it was last fetched, so the next crawl can tell whether
+ * the page changed.
+ *
+ * <p>The hash only covers the movies of the page, so that appending a movie to the catalogue, which
+ * changes the {@code total} reported by every page, does not make the other pages look changed.</p>
+ *
+ * @param etag the entity tag sent by the movie API, or {@code null} if it sent none
+ * @param contentHash the SHA-256 of the {@code data} array of the page body
+ * @param perPage the number of movies per page reported by the page
+ * @param totalPages the total page count reported by the page
+ */
+public record PageFingerprint(String etag, String contentHash, int perPage, int totalPages) {
+}
@@ -0,0 +1,34 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+
+/**
+ * Adaptive limit of the requests in flight to the movie API, bound from {@code api.concurrency.*}.
+ *
+ * @param initialLimit the limit before any request completed
+ * @param minLimit the lowest the limit may shrink to
+ * @param maxLimit the highest the limit may grow to
+ * @param backoffRatio the factor (0 to 1) the limit is multiplied by when the movie API shows overload
+ * @param latencyThreshold a request slower than this is taken as a sign of overload
+ */
+@ConfigurationProperties(prefix = "api.concurrency")
+public record AdaptiveConcurrencyProperties(
+        @DefaultValue("4") int initialLimit,
+        @DefaultValue("1") int minLimit,
+        @DefaultValue("8") int maxLimit,
+        @DefaultValue("0.5") double backoffRatio,
+        @DefaultValue("2s") Duration latencyThreshold) {
+
+    /**
+     * @return the default settings
+     */
+    public static AdaptiveConcurrencyProperties defaults() {
+        return new Binder(new MapConfigurationPropertySource())
+                .bindOrCreate("api.concurrency", AdaptiveConcurrencyProperties.class);
+    }
+}
@@ -0,0 +1,35 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.core.io.support.PropertiesLoaderUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Binds settings from {@code application.properties} on the classpath, for code running outside the Spring
+ * context such as {@code Main}, with the same defaults and validation as the application.
+ */
+final class ClasspathProperties {
+
+    private ClasspathProperties() {
+    }
+
+    /**
+     * @param prefix the prefix of the settings
+     * @param type the settings record
+     * @param <T> the type of the settings
+     * @return the bound settings, with defaults for anything not configured
+     */
+    static <T> T bind(String prefix, Class<T> type) {
+        try {
+            PropertiesPropertySource source = new PropertiesPropertySource("application",
+                    PropertiesLoaderUtils.loadAllProperties("application.properties"));
+            return new Binder(ConfigurationPropertySources.from(source)).bindOrCreate(prefix, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read application.properties", e);
+        }
+    }
+}
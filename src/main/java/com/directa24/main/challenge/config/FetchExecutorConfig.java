@@ -0,0 +1,57 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+@Configuration
+@EnableConfigurationProperties(FetchProperties.class)
+public class FetchExecutorConfig {
+
+    private static final String THREAD_NAME_PREFIX = "movie-fetch-";
+
+    /**
+     * Executor used to fetch movie pages concurrently.
+     *
+     * <p>The pool size caps the number of upstream page requests in flight at any time,
+     * across all concurrent callers.</p>
+     *
+     * @param properties the fetch settings bound from {@code api.fetch.*}
+     * @return a fixed-size {@link ExecutorService} for page fetches
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ExecutorService movieFetchExecutor(FetchProperties properties) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        return Executors.newFixedThreadPool(properties.concurrency(), threadFactory);
+    }
+
+    /**
+     * Executor used to fetch movie pages concurrently when {@code spring.threads.virtual.enabled} is set
+     * on Java 21 or later.
+     *
+     * <p>Each page is fetched on its own virtual thread, so a crawl fans out without tying up platform
+     * threads while pages are awaited. The concurrency limit still caps the number of upstream page
+     * requests in flight across all concurrent callers: a caller submitting a page beyond the limit waits
+     * for a slot, which is cheap as callers are virtual threads themselves in this mode.</p>
+     *
+     * @param properties the fetch settings bound from {@code api.fetch.*}
+     * @return a {@link SimpleAsyncTaskExecutor} starting one virtual thread per page
+     */
+    @Bean(name = "movieFetchExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public SimpleAsyncTaskExecutor virtualMovieFetchExecutor(FetchProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.concurrency());
+        return executor;
+    }
+}
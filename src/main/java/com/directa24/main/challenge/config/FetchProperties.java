@@ -0,0 +1,31 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Concurrency of the movie page fetches, bound from {@code api.fetch.*}.
+ *
+ * @param concurrency the maximum number of pages fetched in parallel, 1 or greater
+ */
+@ConfigurationProperties(prefix = "api.fetch")
+public record FetchProperties(@DefaultValue("8") int concurrency) {
+
+    private static final String PREFIX = "api.fetch";
+
+    public FetchProperties {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("api.fetch.concurrency must be 1 or greater");
+        }
+    }
+
+    /**
+     * Binds the settings from {@code application.properties} on the classpath, for code running
+     * outside the Spring context such as {@code Main}.
+     *
+     * @return the bound settings, with defaults for anything not configured
+     */
+    public static FetchProperties fromClasspath() {
+        return ClasspathProperties.bind(PREFIX, FetchProperties.class);
+    }
+}
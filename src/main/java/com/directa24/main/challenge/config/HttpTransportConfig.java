@@ -0,0 +1,49 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.resources.ConnectionProvider;
+
+@Configuration
+@EnableConfigurationProperties({HttpTransportProperties.class, PageRetryProperties.class,
+        RateLimitProperties.class, AdaptiveConcurrencyProperties.class})
+public class HttpTransportConfig {
+
+    /**
+     * Connection pool dedicated to the movie API.
+     *
+     * @param properties the transport settings bound from {@code api.http.*}
+     * @return the pooled {@link ConnectionProvider}
+     */
+    @Bean(destroyMethod = "dispose")
+    public ConnectionProvider movieApiConnectionProvider(HttpTransportProperties properties) {
+        return HttpTransportFactory.connectionProvider(properties);
+    }
+
+    /**
+     * {@link WebClient} for the movie API, using the pooled, tuned transport.
+     *
+     * @param baseUrl the base URL of the movie API
+     * @param webClientBuilder the Boot-configured builder
+     * @param properties the transport settings bound from {@code api.http.*}
+     * @param movieApiConnectionProvider the connection pool for the movie API
+     * @return the configured {@link WebClient}
+     */
+    @Bean
+    public WebClient movieApiWebClient(@Value("${api.base-url}") String baseUrl,
+                                       WebClient.Builder webClientBuilder,
+                                       HttpTransportProperties properties,
+                                       ConnectionProvider movieApiConnectionProvider) {
+        return webClientBuilder
+                .baseUrl(baseUrl)
+                .clientConnector(new ReactorClientHttpConnector(
+                        HttpTransportFactory.reactorHttpClient(properties, movieApiConnectionProvider)))
+                .codecs(codecs -> codecs.defaultCodecs()
+                        .maxInMemorySize(Math.toIntExact(properties.maxInMemorySize().toBytes())))
+                .build();
+    }
+}
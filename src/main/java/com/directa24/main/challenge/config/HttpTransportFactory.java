@@ -0,0 +1,68 @@
+package com.directa24.main.challenge.config;
+
+import io.netty.channel.ChannelOption;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+/**
+ * Builds the HTTP clients used to call the movie API from {@link HttpTransportProperties}, so the
+ * Spring {@code MovieApiClient} and the standalone {@code Main} share the same transport settings.
+ */
+public final class HttpTransportFactory {
+
+    private static final String CONNECTION_POOL_NAME = "movie-api";
+
+    private HttpTransportFactory() {
+        throw new UnsupportedOperationException("This is a utility class and cannot be instantiated");
+    }
+
+    /**
+     * Creates the connection pool for the reactive client. Connections are reused across pages and
+     * requests, and closed after {@code maxIdleTime} without use.
+     *
+     * @param properties the transport settings
+     * @return a new {@link ConnectionProvider}, to be disposed by the caller
+     */
+    public static ConnectionProvider connectionProvider(HttpTransportProperties properties) {
+        return ConnectionProvider.builder(CONNECTION_POOL_NAME)
+                .maxConnections(properties.maxConnections())
+                .maxIdleTime(properties.maxIdleTime())
+                .build();
+    }
+
+    /**
+     * Creates the Reactor Netty client backing the {@code WebClient}.
+     *
+     * @param properties the transport settings
+     * @param connectionProvider the connection pool to draw connections from
+     * @return the configured {@link HttpClient}
+     */
+    public static HttpClient reactorHttpClient(HttpTransportProperties properties,
+                                               ConnectionProvider connectionProvider) {
+        HttpClient httpClient = HttpClient.create(connectionProvider)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, Math.toIntExact(properties.connectTimeout().toMillis()))
+                .responseTimeout(properties.readTimeout())
+                .keepAlive(true)
+                .compress(properties.compression());
+        return properties.http2()
+                ? httpClient.protocol(HttpProtocol.H2, HttpProtocol.HTTP11)
+                : httpClient.protocol(HttpProtocol.HTTP11);
+    }
+
+    /**
+     * Creates the JDK client used by {@code Main}. The JDK client keeps connections alive and reuses
+     * them on its own; the pool settings only apply to the reactive client.
+     *
+     * @param properties the transport settings
+     * @return the configured {@link java.net.http.HttpClient}
+     */
+    public static java.net.http.HttpClient javaHttpClient(HttpTransportProperties properties) {
+        return java.net.http.HttpClient.newBuilder()
+                .connectTimeout(properties.connectTimeout())
+                .version(properties.http2()
+                        ? java.net.http.HttpClient.Version.HTTP_2
+                        : java.net.http.HttpClient.Version.HTTP_1_1)
+                .build();
+    }
+}
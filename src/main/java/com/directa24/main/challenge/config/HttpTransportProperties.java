@@ -0,0 +1,58 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.ConfigurationPropertySources;
+import org.springframework.core.env.PropertiesPropertySource;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.Properties;
+
+/**
+ * HTTP transport settings for calls to the movie API, bound from {@code api.http.*}.
+ *
+ * @param maxConnections the maximum number of pooled connections to the API
+ * @param maxIdleTime how long an idle pooled connection is kept alive before being closed
+ * @param connectTimeout the timeout for establishing a connection
+ * @param readTimeout the timeout for receiving a complete page response
+ * @param compression whether to request gzip-compressed responses
+ * @param maxInMemorySize the largest page body buffered in memory before failing the request
+ * @param http2 whether to negotiate HTTP/2 (with HTTP/1.1 fallback) on HTTPS connections
+ */
+@ConfigurationProperties(prefix = "api.http")
+public record HttpTransportProperties(
+        @DefaultValue("50") int maxConnections,
+        @DefaultValue("30s") Duration maxIdleTime,
+        @DefaultValue("5s") Duration connectTimeout,
+        @DefaultValue("10s") Duration readTimeout,
+        @DefaultValue("true") boolean compression,
+        @DefaultValue("4MB") DataSize maxInMemorySize,
+        @DefaultValue("false") boolean http2) {
+
+    private static final String PREFIX = "api.http";
+
+    /**
+     * Binds the settings from {@code application.properties} on the classpath, for code running
+     * outside the Spring context such as {@code Main}.
+     *
+     * @return the bound settings, with defaults for anything not configured
+     */
+    public static HttpTransportProperties fromClasspath() {
+        return ClasspathProperties.bind(PREFIX, HttpTransportProperties.class);
+    }
+
+    /**
+     * @return the default settings
+     */
+    public static HttpTransportProperties defaults() {
+        return bind(new Properties());
+    }
+
+    private static HttpTransportProperties bind(Properties properties) {
+        PropertiesPropertySource source = new PropertiesPropertySource("application", properties);
+        return new Binder(ConfigurationPropertySources.from(source))
+                .bindOrCreate(PREFIX, HttpTransportProperties.class);
+    }
+}
@@ -0,0 +1,36 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+import java.time.Duration;
+
+/**
+ * Retry and time budget settings for fetching movie pages, bound from {@code api.retry.*}.
+ *
+ * @param maxAttempts the maximum number of attempts per page, including the first one
+ * @param minBackoff the delay before the first retry of a page
+ * @param maxBackoff the upper bound of the exponential backoff between retries
+ * @param jitter the random jitter factor (0 to 1) applied to each backoff delay
+ * @param pageTimeout the deadline for one page, across all of its attempts
+ * @param crawlTimeout the time budget for crawling the whole catalogue
+ */
+@ConfigurationProperties(prefix = "api.retry")
+public record PageRetryProperties(
+        @DefaultValue("3") int maxAttempts,
+        @DefaultValue("200ms") Duration minBackoff,
+        @DefaultValue("2s") Duration maxBackoff,
+        @DefaultValue("0.5") double jitter,
+        @DefaultValue("15s") Duration pageTimeout,
+        @DefaultValue("2m") Duration crawlTimeout) {
+
+    /**
+     * @return the default settings
+     */
+    public static PageRetryProperties defaults() {
+        return new Binder(new MapConfigurationPropertySource())
+                .bindOrCreate("api.retry", PageRetryProperties.class);
+    }
+}
@@ -0,0 +1,26 @@
+package com.directa24.main.challenge.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.boot.context.properties.source.MapConfigurationPropertySource;
+
+/**
+ * Request budget towards the movie API, bound from {@code api.rate-limit.*}.
+ *
+ * @param permitsPerSecond the sustained number of requests per second, or 0 for no limit
+ * @param burst the number of requests that may be sent at once after an idle period
+ */
+@ConfigurationProperties(prefix = "api.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("0") double permitsPerSecond,
+        @DefaultValue("1") int burst) {
+
+    /**
+     * @return the default settings, without a limit
+     */
+    public static RateLimitProperties defaults() {
+        return new Binder(new MapConfigurationPropertySource())
+                .bindOrCreate("api.rate-limit", RateLimitProperties.class);
+    }
+}
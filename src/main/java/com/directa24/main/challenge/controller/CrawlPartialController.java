@@ -0,0 +1,57 @@
+package com.directa24.main.challenge.controller;
+
+import com.directa24.main.challenge.exception.ClusterAccessDeniedException;
+import com.directa24.main.challenge.service.impl.CrawlPeerClient;
+import com.directa24.main.challenge.service.impl.MovieCatalogCrawler;
+import jakarta.validation.constraints.Min;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Endpoint through which the node coordinating a shared crawl hands a page range to this node.
+ *
+ * <p>It is meant for the other nodes listed in {@code directors.cluster.peers}, not for clients: requests must
+ * carry the shared {@code directors.cluster.token}, and every request is refused while no token is
+ * configured.</p>
+ */
+@RestController
+@RequestMapping(CrawlPeerClient.PARTIAL_PATH)
+@ConditionalOnProperty(name = "directors.source", havingValue = "api", matchIfMissing = true)
+public class CrawlPartialController {
+
+    private final MovieCatalogCrawler movieCatalogCrawler;
+    private final CrawlPeerClient crawlPeerClient;
+
+    public CrawlPartialController(MovieCatalogCrawler movieCatalogCrawler, CrawlPeerClient crawlPeerClient) {
+        this.movieCatalogCrawler = movieCatalogCrawler;
+        this.crawlPeerClient = crawlPeerClient;
+    }
+
+    /**
+     * Crawls a page range and returns the partial statistics of its directors.
+     *
+     * @param token the shared cluster token.
+     * @param from the first page of the range (must be 1 or greater).
+     * @param to the last page of the range, inclusive (must not be before {@code from}, and at most
+     *           {@link MovieCatalogCrawler#MAX_RANGE_PAGES} pages after it).
+     * @return a {@link ResponseEntity} containing the encoded statistics per director of the range,
+     * or 403 if the token is missing or wrong.
+     */
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<byte[]> getPartial(
+            @RequestHeader(value = CrawlPeerClient.TOKEN_HEADER, required = false) String token,
+            @RequestParam("from") @Min(value = 1, message = "From must be 1 or greater") int from,
+            @RequestParam("to") @Min(value = 1, message = "To must be 1 or greater") int to) {
+
+        if (!crawlPeerClient.isAuthorized(token)) {
+            throw new ClusterAccessDeniedException("Missing or invalid cluster token");
+        }
+        return ResponseEntity.ok(CrawlPeerClient.encode(movieCatalogCrawler.crawlRange(from, to)));
+    }
+}
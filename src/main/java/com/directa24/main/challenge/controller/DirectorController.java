@@ -1,20 +1,39 @@
 package com.directa24.main.challenge.controller;
 
+import com.directa24.main.challenge.dto.DirectorBatchDTO;
+import com.directa24.main.challenge.dto.DirectorListDTO;
+import com.directa24.main.challenge.dto.DirectorStatsDTO;
+import com.directa24.main.challenge.dto.DirectorStatsListDTO;
 import com.directa24.main.challenge.service.DirectorService;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
-import java.util.Map;
 
 @RestController
 @RequestMapping("/api/directors")
 public class DirectorController {
 
+    private static final String STALE_HEADER = "X-Directors-Stale";
+    private static final String COUNTED_AT_HEADER = "X-Directors-Counted-At";
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .build();
+
     private final DirectorService directorService;
 
     public DirectorController(DirectorService directorService) {
@@ -25,18 +44,151 @@ public class DirectorController {
      * Retrieves a list of directors who have directed more than the specified number of movies.
      *
      * <p>This endpoint fetches directors whose movie count exceeds the given threshold.
-     * The response is returned as a JSON object containing the list of directors.</p>
+     * The response is returned as a JSON object containing the list of directors, whether the
+     * movie counts are stale (the movie API could not be reached to refresh them) and when they were computed.</p>
+     *
+     * <p>When {@code limit} is given, at most that many directors are returned, starting after the director
+     * named by {@code after}, and the response carries a {@code next} cursor to pass as {@code after} for the
+     * following page, until the last page.</p>
+     *
+     * <p>When {@code since} is given, only the movies released in or after that year are counted. This needs
+     * the crawled movies themselves, so it answers 503 while this node only holds the director statistics,
+     * restored from a snapshot file or crawled with peer nodes.</p>
      *
      * @param threshold the minimum number of movies a director must have directed (must be 0 or greater).
+     * @param since the earliest release year of the movies to count (must be 1 or greater), if any.
+     * @param after the {@code next} cursor of the previous page, if any.
+     * @param limit the maximum number of directors to return (must be 1 or greater), or all of them if absent.
      * @return a {@link ResponseEntity} containing a JSON object with the list of directors.
      */
     @GetMapping
-    public ResponseEntity<Map<String, List<String>>> getDirectors(
+    public ResponseEntity<DirectorListDTO> getDirectors(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be 0 or greater") int threshold,
+            @RequestParam(value = "since", required = false)
+            @Min(value = 1, message = "Since must be 1 or greater") Integer since,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false)
+            @Min(value = 1, message = "Limit must be 1 or greater") Integer limit) {
+
+        if (since != null) {
+            return ResponseEntity.ok(directorService.getDirectorsSince(threshold, since, after,
+                    limit != null ? limit : Integer.MAX_VALUE));
+        }
+        if (limit == null && after == null) {
+            return ResponseEntity.ok(directorService.getDirectors(threshold));
+        }
+        return ResponseEntity.ok(directorService.getDirectors(threshold, after,
+                limit != null ? limit : Integer.MAX_VALUE));
+    }
+
+    /**
+     * Retrieves the directors above each of several thresholds in one request.
+     *
+     * <p>All thresholds are answered from the same movie counts, so a dashboard rendering several cut-offs
+     * costs at most one crawl of the movie API instead of one per threshold. Each result lists the directors
+     * whose movie count exceeds its threshold, in alphabetical order, optionally only those whose name
+     * starts with {@code prefix} (case-sensitive).</p>
+     *
+     * @param thresholds the thresholds, comma-separated or repeated (1 to 100 values, each 0 or greater).
+     * @param prefix the start of the director names to include, if any.
+     * @return a {@link ResponseEntity} containing a JSON object with the directors per threshold.
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<DirectorBatchDTO> getDirectorsBatch(
+            @RequestParam("thresholds")
+            @Size(min = 1, max = 100, message = "Thresholds must hold 1 to 100 values") List<Integer> thresholds,
+            @RequestParam(value = "prefix", required = false) String prefix) {
+
+        return ResponseEntity.ok(directorService.getDirectors(thresholds, prefix));
+    }
+
+    /**
+     * Streams the directors who have directed more than the specified number of movies as NDJSON.
+     *
+     * <p>Each line of the body is one director name as a JSON string, in alphabetical order. Names are
+     * written straight from the shared threshold index as the body is sent, so no response object is
+     * built for large result sets. The freshness of the counts is reported in the {@code X-Directors-Stale}
+     * and {@code X-Directors-Counted-At} headers. {@code after} and {@code limit} select a range as in
+     * {@link #getDirectors(int, Integer, String, Integer)}.</p>
+     *
+     * @param threshold the minimum number of movies a director must have directed (must be 0 or greater).
+     * @param after the last director already received, if any.
+     * @param limit the maximum number of directors to stream (must be 1 or greater), or all of them if absent.
+     * @return a {@link ResponseEntity} streaming one director name per line.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDirectors(
+            @RequestParam("threshold")
+            @Min(value = 0, message = "Threshold must be 0 or greater") int threshold,
+            @RequestParam(value = "after", required = false) String after,
+            @RequestParam(value = "limit", required = false)
+            @Min(value = 1, message = "Limit must be 1 or greater") Integer limit) {
+
+        DirectorListDTO result = directorService.getDirectors(threshold, after,
+                limit != null ? limit : Integer.MAX_VALUE);
+        StreamingResponseBody body = out -> writeNdjson(result.directors(), out);
+        return ResponseEntity.ok()
+                .header(STALE_HEADER, String.valueOf(result.stale()))
+                .header(COUNTED_AT_HEADER, result.countedAt().toString())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Retrieves the statistics of the directors with the most movies.
+     *
+     * <p>For each director the response holds the movie count, the release year range, the total runtime
+     * and the number of movies per genre, all aggregated in the same crawl that serves the threshold
+     * queries. Directors are ordered by descending movie count, then by name.</p>
+     *
+     * @param top the number of directors to return (must be 1 or greater, defaults to 10).
+     * @return a {@link ResponseEntity} containing a JSON object with the statistics of the top directors.
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<DirectorStatsListDTO> getTopDirectors(
+            @RequestParam(value = "top", defaultValue = "10")
+            @Min(value = 1, message = "Top must be 1 or greater") int top) {
+
+        return ResponseEntity.ok(directorService.getTopDirectors(top));
+    }
+
+    /**
+     * Retrieves the statistics of one director.
+     *
+     * @param director the exact name of the director.
+     * @return a {@link ResponseEntity} containing the statistics of the director, or 404 if the director is unknown.
+     */
+    @GetMapping("/stats/{director}")
+    public ResponseEntity<DirectorStatsDTO> getDirectorStats(@PathVariable("director") String director) {
+        return ResponseEntity.ok(directorService.getDirectorStats(director));
+    }
+
+    /**
+     * Non-blocking variant of {@link #getDirectors(int, Integer, String, Integer)}, without pagination.
+     *
+     * <p>The request thread is released while the catalogue is streamed from the upstream API;
+     * the response is written once the returned {@link Mono} completes.</p>
+     *
+     * @param threshold the minimum number of movies a director must have directed (must be 0 or greater).
+     * @return a {@link Mono} emitting a JSON object with the list of directors.
+     */
+    @GetMapping("/reactive")
+    public Mono<ResponseEntity<DirectorListDTO>> getDirectorsReactive(
             @RequestParam("threshold")
             @Min(value = 0, message = "Threshold must be 0 or greater") int threshold) {
 
-        List<String> directors = directorService.getDirectors(threshold);
-        return ResponseEntity.ok(Map.of("directors", directors));
+        return directorService.getDirectorsReactive(threshold)
+                .map(ResponseEntity::ok);
     }
 
+    private static void writeNdjson(List<String> directors, OutputStream out) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.setRootValueSeparator(null);
+            for (String director : directors) {
+                generator.writeString(director);
+                generator.writeRaw('\n');
+            }
+        }
+    }
 }
@@ -0,0 +1,20 @@
+package com.directa24.main.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Directors matching each threshold of a batch query, all selected from the same counts.
+ *
+ * @param prefix the start of the director names included, or {@code null} if every name is included
+ * @param results the directors per threshold, in the order the thresholds were requested
+ * @param stale whether the counts were served past their TTL because a reload is pending or failed
+ * @param countedAt the instant the counts were computed
+ */
+public record DirectorBatchDTO(@JsonInclude(JsonInclude.Include.NON_NULL) String prefix,
+                               List<DirectorThresholdDTO> results,
+                               boolean stale,
+                               Instant countedAt) {
+}
@@ -0,0 +1,20 @@
+package com.directa24.main.challenge.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Directors matching a threshold query, with the freshness of the counts they were selected from.
+ *
+ * @param directors the alphabetically sorted director names
+ * @param stale whether the counts were served past their TTL because a reload is pending or failed
+ * @param countedAt the instant the counts were computed
+ * @param next the cursor to pass as {@code after} to fetch the next page, or {@code null} on the last page
+ */
+public record DirectorListDTO(List<String> directors,
+                              boolean stale,
+                              Instant countedAt,
+                              @JsonInclude(JsonInclude.Include.NON_NULL) String next) {
+}
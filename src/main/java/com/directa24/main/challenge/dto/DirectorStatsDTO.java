@@ -0,0 +1,28 @@
+package com.directa24.main.challenge.dto;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+
+import java.util.Map;
+
+/**
+ * Statistics of the movies of one director.
+ *
+ * @param director the director name
+ * @param movieCount the number of movies
+ * @param firstYear the release year of the earliest movie, if known
+ * @param lastYear the release year of the latest movie, if known
+ * @param totalRuntimeMinutes the summed runtime of the movies that report one
+ * @param genres the number of movies per genre, most frequent genre first
+ */
+public record DirectorStatsDTO(String director,
+                               int movieCount,
+                               Integer firstYear,
+                               Integer lastYear,
+                               long totalRuntimeMinutes,
+                               Map<String, Integer> genres) {
+
+    public static DirectorStatsDTO of(String director, DirectorStats stats) {
+        return new DirectorStatsDTO(director, stats.movieCount(), stats.firstYear(), stats.lastYear(),
+                stats.totalRuntimeMinutes(), stats.genres());
+    }
+}
@@ -0,0 +1,14 @@
+package com.directa24.main.challenge.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Statistics of the top directors by movie count, with the freshness of the crawl they come from.
+ *
+ * @param directors the director statistics, by descending movie count, then by name
+ * @param stale whether the statistics were served past their TTL because a reload is pending or failed
+ * @param countedAt the instant the statistics were computed
+ */
+public record DirectorStatsListDTO(List<DirectorStatsDTO> directors, boolean stale, Instant countedAt) {
+}
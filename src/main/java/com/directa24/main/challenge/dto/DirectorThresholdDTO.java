@@ -0,0 +1,12 @@
+package com.directa24.main.challenge.dto;
+
+import java.util.List;
+
+/**
+ * Directors matching one threshold of a batch query.
+ *
+ * @param threshold the threshold the directors' movie counts exceed
+ * @param directors the alphabetically sorted director names
+ */
+public record DirectorThresholdDTO(int threshold, List<String> directors) {
+}
@@ -1,5 +1,6 @@
 package com.directa24.main.challenge.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 public class MovieDTO {
@@ -7,10 +8,29 @@ public class MovieDTO {
     @JsonProperty("Director")
     private String director;
 
-    // Only used director as it is the only field relevant to the requirement
+    @JsonProperty("Year")
+    private String year;
+
+    @JsonProperty("Runtime")
+    private String runtime;
+
+    @JsonProperty("Genre")
+    private String genre;
+
+    // Only the fields aggregated into the director statistics are kept, as sent by the API
+    // (e.g. Year "2011", Runtime "94 min", Genre "Comedy, Fantasy, Romance")
 
     public MovieDTO(String director) {
+        this(director, null, null, null);
+    }
+
+    @JsonCreator
+    public MovieDTO(@JsonProperty("Director") String director, @JsonProperty("Year") String year,
+                    @JsonProperty("Runtime") String runtime, @JsonProperty("Genre") String genre) {
         this.director = director;
+        this.year = year;
+        this.runtime = runtime;
+        this.genre = genre;
     }
 
     public String getDirector() {
@@ -20,4 +40,28 @@ public class MovieDTO {
     public void setDirector(String director) {
         this.director = director;
     }
+
+    public String getYear() {
+        return year;
+    }
+
+    public void setYear(String year) {
+        this.year = year;
+    }
+
+    public String getRuntime() {
+        return runtime;
+    }
+
+    public void setRuntime(String runtime) {
+        this.runtime = runtime;
+    }
+
+    public String getGenre() {
+        return genre;
+    }
+
+    public void setGenre(String genre) {
+        this.genre = genre;
+    }
 }
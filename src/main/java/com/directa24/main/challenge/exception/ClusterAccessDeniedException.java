@@ -0,0 +1,11 @@
+package com.directa24.main.challenge.exception;
+
+/**
+ * Thrown when a request to an internal cluster endpoint does not carry the shared cluster token.
+ */
+public class ClusterAccessDeniedException extends RuntimeException {
+
+    public ClusterAccessDeniedException(String message) {
+        super(message);
+    }
+}
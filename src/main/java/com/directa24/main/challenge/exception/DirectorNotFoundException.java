@@ -0,0 +1,11 @@
+package com.directa24.main.challenge.exception;
+
+/**
+ * Thrown when statistics are requested for a director who has no movie in the catalogue.
+ */
+public class DirectorNotFoundException extends RuntimeException {
+
+    public DirectorNotFoundException(String message) {
+        super(message);
+    }
+}
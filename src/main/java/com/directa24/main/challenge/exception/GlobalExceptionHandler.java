@@ -5,6 +5,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 import java.util.Map;
 
@@ -19,6 +20,54 @@ public class GlobalExceptionHandler {
         return buildErrorResponse("Invalid request parameters", HttpStatus.BAD_REQUEST);
     }
 
+    /**
+     * Handle request parameters rejected by Spring MVC's built-in method validation.
+     */
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<Map<String, Object>> handleMethodValidationExceptions(HandlerMethodValidationException ex) {
+        return buildErrorResponse("Invalid request parameters", HttpStatus.BAD_REQUEST);
+    }
+
+    /**
+     * Handle statistics requested for an unknown director.
+     */
+    @ExceptionHandler(DirectorNotFoundException.class)
+    public ResponseEntity<Map<String, Object>> handleDirectorNotFoundException(DirectorNotFoundException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.NOT_FOUND);
+    }
+
+    /**
+     * Handle the movie API not answering within its time budget.
+     */
+    @ExceptionHandler(UpstreamTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamTimeoutException(UpstreamTimeoutException ex) {
+        return buildErrorResponse("The movie API did not respond in time", HttpStatus.GATEWAY_TIMEOUT);
+    }
+
+    /**
+     * Handle the circuit to the movie API being open while no previous director counts exist.
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        return buildErrorResponse("The movie API is temporarily unavailable", HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    /**
+     * Handle internal cluster requests without the shared cluster token.
+     */
+    @ExceptionHandler(ClusterAccessDeniedException.class)
+    public ResponseEntity<Map<String, Object>> handleClusterAccessDeniedException(ClusterAccessDeniedException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.FORBIDDEN);
+    }
+
+    /**
+     * Handle movie-level queries while only the aggregated director statistics are held.
+     */
+    @ExceptionHandler(MoviesUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleMoviesUnavailableException(MoviesUnavailableException ex) {
+        return buildErrorResponse(ex.getMessage(), HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     /**
      * Handle generic runtime exceptions.
      */
@@ -0,0 +1,12 @@
+package com.directa24.main.challenge.exception;
+
+/**
+ * Thrown when a query needs the movies of the catalogue but only their aggregated statistics are held, because
+ * they were restored from a snapshot file or partly crawled by peer nodes.
+ */
+public class MoviesUnavailableException extends RuntimeException {
+
+    public MoviesUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.directa24.main.challenge.exception;
+
+/**
+ * Thrown when the movie API does not deliver a page, or the whole catalogue, within its time budget.
+ */
+public class UpstreamTimeoutException extends RuntimeException {
+
+    public UpstreamTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,11 @@
+package com.directa24.main.challenge.exception;
+
+/**
+ * Thrown without calling the movie API while its circuit breaker is open.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,109 @@
+package com.directa24.main.challenge.loader;
+
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import com.directa24.main.challenge.service.DirectorCountSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Offline {@link DirectorCountSource} that builds the director statistics from local dumps instead of the
+ * movie API.
+ *
+ * <p>{@code directors.offline.path} may point to a single file or to a directory. Files ending in
+ * {@code .json} are page dumps in the format served by the API (see {@code test_data.json}); files
+ * ending in {@code .ndjson} hold one movie object per line. Files are read through memory-mapped
+ * windows and decoded with the streaming {@link MoviePageDecoder} straight into a {@link MovieColumns} store,
+ * so only the fields the queries read are kept, in primitive columns, however large the dumps are.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "directors.source", havingValue = "offline")
+public class PageDumpLoader implements DirectorCountSource {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PageDumpLoader.class);
+    private static final String PAGE_DUMP_SUFFIX = ".json";
+    private static final String MOVIE_DUMP_SUFFIX = ".ndjson";
+
+    private final MoviePageDecoder moviePageDecoder;
+    private final Path dumpPath;
+
+    public PageDumpLoader(MoviePageDecoder moviePageDecoder,
+                          @Value("${directors.offline.path}") String dumpPath) {
+        this.moviePageDecoder = moviePageDecoder;
+        this.dumpPath = Path.of(dumpPath);
+    }
+
+    /**
+     * Loads the movies of the configured dumps and aggregates those of every director.
+     *
+     * @return the {@link Catalogue} of the dumps
+     * @throws UncheckedIOException if a dump cannot be read or is not valid
+     */
+    @Override
+    public Catalogue loadCatalogue() {
+        LOGGER.info("Loading director statistics from dumps at {}.", dumpPath);
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+        MovieColumns catalogue;
+
+        try {
+            List<Path> dumps = listDumps();
+            for (Path dump : dumps) {
+                loadDump(dump, movies);
+            }
+            catalogue = movies.build();
+            LOGGER.info("Loaded {} dumps with {} movies of {} directors.", dumps.size(), catalogue.size(),
+                    catalogue.directorCount());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load movie dumps from " + dumpPath, e);
+        }
+
+        return Catalogue.of(catalogue);
+    }
+
+    private List<Path> listDumps() throws IOException {
+        if (!Files.isDirectory(dumpPath)) {
+            return List.of(dumpPath);
+        }
+        try (Stream<Path> files = Files.list(dumpPath)) {
+            return files.filter(Files::isRegularFile)
+                    .filter(file -> isPageDump(file) || isMovieDump(file))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private void loadDump(Path dump, MovieColumns.Builder catalogue) throws IOException {
+        try (InputStream body = new MappedFileInputStream(dump)) {
+            if (isMovieDump(dump)) {
+                int movies = moviePageDecoder.decodeMovies(body, catalogue);
+                LOGGER.debug("Loaded {} movies from {}.", movies, dump);
+            } else {
+                MoviePageDecoder.PageSummary page = moviePageDecoder.decode(body, catalogue);
+                if (!page.hasData()) {
+                    LOGGER.warn("No data found in page dump {}.", dump);
+                }
+                LOGGER.debug("Loaded {} movies from {}.", page.movieCount(), dump);
+            }
+        }
+    }
+
+    private static boolean isPageDump(Path file) {
+        return file.getFileName().toString().endsWith(PAGE_DUMP_SUFFIX);
+    }
+
+    private static boolean isMovieDump(Path file) {
+        return file.getFileName().toString().endsWith(MOVIE_DUMP_SUFFIX);
+    }
+}
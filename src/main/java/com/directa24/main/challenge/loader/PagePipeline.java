@@ -0,0 +1,191 @@
+package com.directa24.main.challenge.loader;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Staged pipeline counting the directors of a range of movie pages, so that network I/O and JSON decoding
+ * overlap instead of alternating on one thread.
+ *
+ * <p>Fetcher threads download raw page bodies and put them on a bounded queue. Parser threads take the bodies
+ * off the queue and decode each one into a counter of their own, which is merged into the caller's counter
+ * once every page is parsed, so counting needs no locking. When the parsers fall behind, the queue fills and
+ * the fetchers block until there is room: at most {@code queueCapacity} bodies wait to be parsed, plus one per
+ * fetcher and one per parser in progress, however fast pages arrive.</p>
+ *
+ * <p>The first page that fails to be fetched or parsed stops the fetchers from starting new pages, and its
+ * failure is rethrown once the pipeline has drained.</p>
+ */
+public final class PagePipeline {
+
+    private static final RawPage END_OF_PAGES = new RawPage(-1, null);
+
+    private final PageFetcher fetcher;
+    private final PageCounter pageCounter;
+    private final int fetchers;
+    private final int parsers;
+    private final int queueCapacity;
+
+    /**
+     * @param fetcher downloads the body of a page
+     * @param pageCounter decodes a page body into a counter
+     * @param fetchers the number of fetcher threads, that is the number of pages downloaded at a time
+     * @param parsers the number of parser threads
+     * @param queueCapacity the number of downloaded bodies that may wait for a parser
+     */
+    public PagePipeline(PageFetcher fetcher, PageCounter pageCounter, int fetchers, int parsers, int queueCapacity) {
+        if (fetchers < 1 || parsers < 1 || queueCapacity < 1) {
+            throw new IllegalArgumentException("Fetchers, parsers and queue capacity must be 1 or greater");
+        }
+        this.fetcher = fetcher;
+        this.pageCounter = pageCounter;
+        this.fetchers = fetchers;
+        this.parsers = parsers;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Fetches and counts pages {@code fromPage} to {@code toPage}.
+     *
+     * @param fromPage the first page to count
+     * @param toPage the last page to count, inclusive; no page is counted if it is before {@code fromPage}
+     * @param directorCounter the counter receiving the directors of every page
+     * @throws RuntimeException the first failure of a fetcher or parser
+     */
+    public void count(int fromPage, int toPage, DirectorCounter directorCounter) {
+        if (toPage < fromPage) {
+            return;
+        }
+        BlockingQueue<RawPage> queue = new ArrayBlockingQueue<>(queueCapacity);
+        AtomicInteger nextPage = new AtomicInteger(fromPage);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        ExecutorService threads = Executors.newFixedThreadPool(fetchers + parsers, runnable -> {
+            Thread thread = new Thread(runnable, "page-pipeline");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<Future<DirectorCounter>> parsed = new ArrayList<>(parsers);
+            for (int i = 0; i < parsers; i++) {
+                parsed.add(threads.submit(() -> parse(queue, failure)));
+            }
+            List<Future<?>> fetched = new ArrayList<>(fetchers);
+            for (int i = 0; i < fetchers; i++) {
+                fetched.add(threads.submit(() -> fetch(nextPage, toPage, queue, failure)));
+            }
+
+            for (Future<?> fetcherDone : fetched) {
+                fetcherDone.get();
+            }
+            for (int i = 0; i < parsers; i++) {
+                queue.put(END_OF_PAGES);
+            }
+            for (Future<DirectorCounter> parserDone : parsed) {
+                DirectorCounter counted = parserDone.get();
+                if (failure.get() == null) {
+                    directorCounter.addAll(counted);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while counting movie pages", e);
+        } catch (ExecutionException e) {
+            failure.compareAndSet(null, e.getCause());
+        } finally {
+            threads.shutdownNow();
+        }
+
+        Throwable firstFailure = failure.get();
+        if (firstFailure instanceof RuntimeException runtimeException) {
+            throw runtimeException;
+        }
+        if (firstFailure instanceof IOException ioException) {
+            throw new UncheckedIOException(ioException);
+        }
+        if (firstFailure != null) {
+            throw new IllegalStateException("Failed to count movie pages", firstFailure);
+        }
+    }
+
+    /**
+     * Downloads pages until none is left or a page has failed, blocking while the queue is full.
+     */
+    private Void fetch(AtomicInteger nextPage, int toPage, BlockingQueue<RawPage> queue,
+                       AtomicReference<Throwable> failure) throws InterruptedException {
+        for (int page = nextPage.getAndIncrement(); page <= toPage && failure.get() == null;
+             page = nextPage.getAndIncrement()) {
+            try {
+                queue.put(new RawPage(page, fetcher.fetch(page)));
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Counts the pages taken off the queue until the end marker. After a failure, the remaining pages are
+     * drained without being parsed, so the fetchers never block on a full queue.
+     */
+    private DirectorCounter parse(BlockingQueue<RawPage> queue, AtomicReference<Throwable> failure)
+            throws InterruptedException {
+        DirectorCounter counted = new DirectorCounter();
+        for (RawPage page = queue.take(); page != END_OF_PAGES; page = queue.take()) {
+            if (failure.get() != null) {
+                continue;
+            }
+            try {
+                pageCounter.count(page.pageNumber(), page.body(), counted);
+            } catch (IOException | RuntimeException e) {
+                failure.compareAndSet(null, e);
+            }
+        }
+        return counted;
+    }
+
+    /**
+     * Downloads the body of one page.
+     */
+    @FunctionalInterface
+    public interface PageFetcher {
+
+        /**
+         * @param pageNumber the page to download
+         * @return the raw page body
+         * @throws IOException if the page cannot be downloaded
+         */
+        byte[] fetch(int pageNumber) throws IOException;
+    }
+
+    /**
+     * Decodes the body of one page into a counter, typically with a {@link MoviePageDecoder}.
+     */
+    @FunctionalInterface
+    public interface PageCounter {
+
+        /**
+         * @param pageNumber the page the body belongs to
+         * @param body the raw page body
+         * @param directorCounter the counter receiving the directors of the page
+         * @throws IOException if the body is not a valid page
+         */
+        void count(int pageNumber, byte[] body, DirectorCounter directorCounter) throws IOException;
+    }
+
+    private record RawPage(int pageNumber, byte[] body) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.directa24.main.challenge.service;
+
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.Map;
+
+/**
+ * Source of the per-director statistics (movie count, year range, runtime, genres) for the whole catalogue.
+ *
+ * <p>The active source is selected with the {@code directors.source} property: {@code api} (the
+ * default) crawls the upstream movie API, {@code offline} loads local page dumps. Either way the
+ * catalogue is read once and every statistic is aggregated in the same pass.</p>
+ */
+public interface DirectorCountSource {
+
+    /**
+     * Reads the catalogue into a columnar movie store and aggregates the movies of every director.
+     *
+     * @return the {@link Catalogue}, whose movies are {@code null} if the source only has their statistics
+     * @throws RuntimeException if the catalogue cannot be read
+     */
+    Catalogue loadCatalogue();
+
+    /**
+     * Aggregates the movies of every director in the catalogue.
+     *
+     * @return a {@link Map} of director name to {@link DirectorStats}
+     * @throws RuntimeException if the catalogue cannot be read
+     */
+    default Map<String, DirectorStats> loadDirectorStats() {
+        return loadCatalogue().directorStats();
+    }
+
+    /**
+     * Non-blocking variant of {@link #loadCatalogue()}.
+     *
+     * <p>The default implementation runs the blocking load on the bounded elastic scheduler.</p>
+     *
+     * @return a {@link Mono} emitting the catalogue
+     */
+    default Mono<Catalogue> loadCatalogueReactive() {
+        return Mono.fromCallable(this::loadCatalogue).subscribeOn(Schedulers.boundedElastic());
+    }
+}
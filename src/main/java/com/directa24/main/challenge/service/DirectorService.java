@@ -1,7 +1,25 @@
 package com.directa24.main.challenge.service;
 
+import com.directa24.main.challenge.dto.DirectorBatchDTO;
+import com.directa24.main.challenge.dto.DirectorListDTO;
+import com.directa24.main.challenge.dto.DirectorStatsDTO;
+import com.directa24.main.challenge.dto.DirectorStatsListDTO;
+import reactor.core.publisher.Mono;
+
 import java.util.List;
 
 public interface DirectorService {
-    List<String> getDirectors(int threshold);
+    DirectorListDTO getDirectors(int threshold);
+
+    DirectorListDTO getDirectors(int threshold, String after, int limit);
+
+    DirectorListDTO getDirectorsSince(int threshold, int sinceYear, String after, int limit);
+
+    DirectorBatchDTO getDirectors(List<Integer> thresholds, String prefix);
+
+    Mono<DirectorListDTO> getDirectorsReactive(int threshold);
+
+    DirectorStatsListDTO getTopDirectors(int limit);
+
+    DirectorStatsDTO getDirectorStats(String director);
 }
@@ -0,0 +1,142 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Client of the other nodes that share the crawl of the catalogue, listed in {@code directors.cluster.peers}.
+ *
+ * <p>A peer crawls the page range it is asked for and answers with the partial statistics of those pages,
+ * in the binary encoding of the snapshot files (see {@link DirectorSnapshotFile}), so the node coordinating
+ * the crawl receives a few kilobytes per peer instead of the pages themselves.</p>
+ *
+ * <p>Requests carry the shared {@code directors.cluster.token}, which peers require before crawling for
+ * another node. A partial is buffered up to {@code api.http.max-in-memory-size} per page of its range, as it
+ * can never legitimately be larger than the pages it aggregates; a larger answer fails the request.</p>
+ */
+@Component
+public class CrawlPeerClient {
+
+    /**
+     * Path of the partial statistics endpoint, relative to the base URL of a peer.
+     */
+    public static final String PARTIAL_PATH = "/internal/directors/partial";
+
+    /**
+     * Header carrying the shared cluster token.
+     */
+    public static final String TOKEN_HEADER = "X-Directors-Cluster-Token";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CrawlPeerClient.class);
+
+    private final WebClient webClient;
+    private final long maxPageSize;
+    private final List<String> peers;
+    private final byte[] token;
+
+    public CrawlPeerClient(WebClient.Builder webClientBuilder,
+                           HttpTransportProperties httpTransportProperties,
+                           @Value("${directors.cluster.peers:}") List<String> peers,
+                           @Value("${directors.cluster.token:}") String token) {
+        this.webClient = webClientBuilder.build();
+        this.maxPageSize = httpTransportProperties.maxInMemorySize().toBytes();
+        this.peers = peers.stream()
+                .map(String::trim)
+                .filter(peer -> !peer.isEmpty())
+                .map(peer -> peer.endsWith("/") ? peer.substring(0, peer.length() - 1) : peer)
+                .toList();
+        this.token = token.trim().getBytes(StandardCharsets.UTF_8);
+        if (!this.peers.isEmpty() && this.token.length == 0) {
+            LOGGER.warn("Crawl peers are configured without directors.cluster.token; they will refuse to crawl.");
+        }
+    }
+
+    /**
+     * @return the base URLs of the peers, empty if this node crawls the catalogue alone
+     */
+    public List<String> getPeers() {
+        return peers;
+    }
+
+    /**
+     * Checks the token presented by a node asking this one to crawl. No token is accepted if none is configured.
+     *
+     * @param presented the token sent by the node, may be {@code null}
+     * @return whether the token is the configured cluster token
+     */
+    public boolean isAuthorized(String presented) {
+        return token.length > 0 && presented != null
+                && MessageDigest.isEqual(token, presented.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Asks a peer for the statistics of a page range.
+     *
+     * @param peer the base URL of the peer
+     * @param fromPage the first page of the range
+     * @param toPage the last page of the range, inclusive
+     * @return a {@link Mono} emitting the statistics per director of the range, or failing with a
+     * {@link org.springframework.core.io.buffer.DataBufferLimitException} if the answer is too large
+     */
+    public Mono<Map<String, DirectorStats>> fetchPartial(String peer, int fromPage, int toPage) {
+        return webClient.get()
+                .uri(peer + PARTIAL_PATH + "?from={from}&to={to}", fromPage, toPage)
+                .accept(MediaType.APPLICATION_OCTET_STREAM)
+                .header(TOKEN_HEADER, new String(token, StandardCharsets.UTF_8))
+                .retrieve()
+                .bodyToFlux(DataBuffer.class)
+                .as(body -> DataBufferUtils.join(body, maxPartialSize(fromPage, toPage)))
+                .map(body -> decode(body, peer));
+    }
+
+    /**
+     * Encodes partial statistics for a peer response.
+     *
+     * @param directorStats the statistics per director of a page range
+     * @return the encoded statistics
+     */
+    public static byte[] encode(Map<String, DirectorStats> directorStats) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try {
+            DirectorSnapshotFile.write(directorStats, Instant.now(), out);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private int maxPartialSize(int fromPage, int toPage) {
+        long pages = Math.max(1L, (long) toPage - fromPage + 1);
+        return (int) Math.min(Integer.MAX_VALUE, maxPageSize * pages);
+    }
+
+    private static Map<String, DirectorStats> decode(DataBuffer body, String peer) {
+        byte[] bytes = new byte[body.readableByteCount()];
+        body.read(bytes);
+        DataBufferUtils.release(body);
+        try {
+            return DirectorSnapshotFile.read(ByteBuffer.wrap(bytes), peer).directorStats();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.service.DirectorCountSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Shared in-memory snapshot of the director movie counts and statistics.
+ *
+ * <p>All threshold queries are served from the current snapshot. A snapshot older than
+ * {@code directors.cache.ttl} is rebuilt on the next query, and a background task rebuilds it every
+ * {@code directors.cache.refresh-interval} so that queries normally never wait for a crawl.
+ * Rebuilt snapshots replace the previous one atomically.</p>
+ *
+ * <p>Loads are single-flight: while one load of the catalogue is in progress, every other caller that
+ * needs a snapshot (blocking, reactive or the background task) waits for that load instead of starting
+ * its own, so a burst of requests on a cold cache drives a single crawl of the upstream API.</p>
+ *
+ * <p>Expired counts are not dropped. For {@code directors.cache.stale-while-revalidate} past the TTL they
+ * are served at once, flagged as stale, while a reload runs in the background. Beyond that window queries
+ * wait for a reload, but if it fails the last counts are served, flagged as stale, rather than an error;
+ * an error is only raised when there are no counts at all.</p>
+ *
+ * <p>Lookups are counted as {@code directors.cache.requests}, tagged with their {@code result}: {@code hit},
+ * {@code stale} or {@code miss}. The number of distinct directors and the age of the cached snapshot are
+ * published as the {@code directors.distinct} and {@code directors.cache.age} gauges.</p>
+ */
+@Component
+public class DirectorCountCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectorCountCache.class);
+    private final DirectorCountSource directorCountSource;
+    private final Duration ttl;
+    private final Duration staleWhileRevalidate;
+    private final AtomicReference<DirectorCountSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicReference<CompletableFuture<DirectorCountSnapshot>> inFlightLoad = new AtomicReference<>();
+    private final Counter cacheHits;
+    private final Counter staleHits;
+    private final Counter cacheMisses;
+
+    public DirectorCountCache(DirectorCountSource directorCountSource,
+                              @Value("${directors.cache.ttl:PT10M}") Duration ttl,
+                              @Value("${directors.cache.stale-while-revalidate:PT5M}") Duration staleWhileRevalidate,
+                              MeterRegistry meterRegistry) {
+        this.directorCountSource = directorCountSource;
+        this.ttl = ttl;
+        this.staleWhileRevalidate = staleWhileRevalidate;
+        this.cacheHits = cacheRequests(meterRegistry, "hit");
+        this.staleHits = cacheRequests(meterRegistry, "stale");
+        this.cacheMisses = cacheRequests(meterRegistry, "miss");
+        Gauge.builder("directors.distinct", snapshot, ref -> ref.get() == null ? 0 : ref.get().thresholdIndex().size())
+                .description("Distinct directors in the cached snapshot")
+                .register(meterRegistry);
+        Gauge.builder("directors.cache.age", snapshot, ref -> ref.get() == null ? Double.NaN
+                        : Duration.between(ref.get().createdAt(), Instant.now()).toMillis() / 1000.0)
+                .description("Age of the cached snapshot")
+                .baseUnit("seconds")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Returns the current snapshot, crawling the catalogue first if the cached snapshot is missing
+     * or expired beyond the stale-while-revalidate window.
+     *
+     * @return the current {@link DirectorCountSnapshot}, flagged as stale if it is served past its TTL
+     * @throws RuntimeException if the crawl fails and no previous snapshot exists
+     */
+    public DirectorCountSnapshot getSnapshot() {
+        Optional<DirectorCountSnapshot> cached = lookup();
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+        try {
+            return refresh();
+        } catch (RuntimeException e) {
+            return fallBackToStale(e);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #getSnapshot()}.
+     *
+     * @return a {@link Mono} emitting the current {@link DirectorCountSnapshot}
+     */
+    public Mono<DirectorCountSnapshot> getSnapshotReactive() {
+        return Mono.defer(() -> lookup()
+                .map(Mono::just)
+                .orElseGet(() -> refreshReactive()
+                        .onErrorResume(RuntimeException.class, e -> Mono.fromSupplier(() -> fallBackToStale(e)))));
+    }
+
+    /**
+     * Returns the cached snapshot if it exists and has not expired.
+     *
+     * @return the cached snapshot, or {@link Optional#empty()} if a crawl is required
+     */
+    public Optional<DirectorCountSnapshot> getIfFresh() {
+        DirectorCountSnapshot current = snapshot.get();
+        if (current == null || current.isOlderThan(ttl, Instant.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(current);
+    }
+
+    /**
+     * Returns the cached snapshot whatever its age.
+     *
+     * @return the cached snapshot, or {@link Optional#empty()} if none was loaded yet
+     */
+    public Optional<DirectorCountSnapshot> getCurrent() {
+        return Optional.ofNullable(snapshot.get());
+    }
+
+    /**
+     * Installs a snapshot saved by a previous run, unless one was already loaded. The snapshot keeps its
+     * original creation time, so it expires and is revalidated like any other.
+     *
+     * @param restored the saved snapshot
+     * @return whether the snapshot was installed
+     */
+    public boolean restore(DirectorCountSnapshot restored) {
+        boolean installed = snapshot.compareAndSet(null, restored);
+        if (installed) {
+            LOGGER.info("Director count snapshot from {} restored with {} directors.", restored.createdAt(),
+                    restored.thresholdIndex().size());
+        }
+        return installed;
+    }
+
+    /**
+     * Loads the catalogue from the configured {@link DirectorCountSource} and replaces the cached snapshot.
+     * Joins the load already in progress, if any.
+     *
+     * @return the freshly built snapshot
+     * @throws RuntimeException if the load fails
+     */
+    public DirectorCountSnapshot refresh() {
+        CompletableFuture<DirectorCountSnapshot> load = new CompletableFuture<>();
+        CompletableFuture<DirectorCountSnapshot> inFlight = inFlightLoad.compareAndExchange(null, load);
+        if (inFlight != null) {
+            LOGGER.debug("Joining the director count load already in progress.");
+            return join(inFlight);
+        }
+
+        try {
+            DirectorCountSnapshot fresh = update(directorCountSource.loadCatalogue());
+            load.complete(fresh);
+            return fresh;
+        } catch (RuntimeException | Error e) {
+            load.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlightLoad.compareAndSet(load, null);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #refresh()}. Joins the load already in progress, if any.
+     *
+     * <p>The load runs detached from the caller that started it: every caller, the first included, waits on
+     * the shared result, so a caller that cancels (for instance a client disconnecting) neither abandons the
+     * load nor fails the callers that joined it.</p>
+     *
+     * @return a {@link Mono} emitting the freshly built snapshot
+     */
+    public Mono<DirectorCountSnapshot> refreshReactive() {
+        return Mono.defer(() -> {
+            CompletableFuture<DirectorCountSnapshot> load = new CompletableFuture<>();
+            CompletableFuture<DirectorCountSnapshot> inFlight = inFlightLoad.compareAndExchange(null, load);
+            if (inFlight != null) {
+                LOGGER.debug("Joining the director count load already in progress.");
+                return Mono.fromFuture(inFlight, true);
+            }
+
+            load.whenComplete((fresh, failure) -> inFlightLoad.compareAndSet(load, null));
+            directorCountSource.loadCatalogueReactive()
+                    .map(this::update)
+                    .subscribe(load::complete, load::completeExceptionally, () -> load.completeExceptionally(
+                            new IllegalStateException("Director count load completed without a snapshot")));
+            return Mono.fromFuture(load, true);
+        });
+    }
+
+    /**
+     * Replaces the cached snapshot with statistics computed elsewhere.
+     *
+     * @param directorStats the crawled statistics per director
+     * @return the freshly built snapshot
+     */
+    public DirectorCountSnapshot update(Map<String, DirectorStats> directorStats) {
+        return update(new Catalogue(directorStats, null));
+    }
+
+    /**
+     * Replaces the cached snapshot with a freshly loaded catalogue.
+     *
+     * @param catalogue the loaded catalogue
+     * @return the freshly built snapshot
+     */
+    public DirectorCountSnapshot update(Catalogue catalogue) {
+        DirectorCountSnapshot fresh = DirectorCountSnapshot.of(catalogue, Instant.now());
+        snapshot.set(fresh);
+        LOGGER.info("Director count snapshot refreshed with {} directors.", fresh.thresholdIndex().size());
+        return fresh;
+    }
+
+    /**
+     * Drops the cached snapshot so that the next query crawls the catalogue again.
+     */
+    public void invalidate() {
+        snapshot.set(null);
+    }
+
+    /**
+     * Rebuilds the snapshot in the background. On failure the previous snapshot is kept and served,
+     * flagged as stale once it has expired, until a later run succeeds.
+     */
+    @Scheduled(initialDelayString = "${directors.cache.refresh-interval:PT5M}",
+            fixedDelayString = "${directors.cache.refresh-interval:PT5M}")
+    public void refreshInBackground() {
+        try {
+            refresh();
+        } catch (RuntimeException e) {
+            LOGGER.warn("Background refresh of the director count snapshot failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Looks up a snapshot that can be served without waiting for a load, and counts the outcome.
+     */
+    private Optional<DirectorCountSnapshot> lookup() {
+        Optional<DirectorCountSnapshot> cached = getIfFresh();
+        if (cached.isPresent()) {
+            cacheHits.increment();
+            return cached;
+        }
+        cached = getIfRevalidating();
+        (cached.isPresent() ? staleHits : cacheMisses).increment();
+        return cached;
+    }
+
+    /**
+     * Serves an expired snapshot that is still within the stale-while-revalidate window, and starts a
+     * background reload (or joins the one in progress).
+     */
+    private Optional<DirectorCountSnapshot> getIfRevalidating() {
+        DirectorCountSnapshot current = snapshot.get();
+        if (current == null || current.isOlderThan(ttl.plus(staleWhileRevalidate), Instant.now())) {
+            return Optional.empty();
+        }
+        refreshReactive().subscribe(fresh -> { }, e ->
+                LOGGER.warn("Revalidation of the stale director count snapshot failed: {}", e.getMessage()));
+        return Optional.of(current.asStale());
+    }
+
+    private DirectorCountSnapshot fallBackToStale(RuntimeException failure) {
+        DirectorCountSnapshot last = snapshot.get();
+        if (last == null) {
+            throw failure;
+        }
+        LOGGER.warn("Serving director counts from {} as the reload failed: {}", last.createdAt(), failure.getMessage());
+        return last.asStale();
+    }
+
+    private static Counter cacheRequests(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("directors.cache.requests")
+                .description("Director count lookups by cache result")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    private static DirectorCountSnapshot join(CompletableFuture<DirectorCountSnapshot> load) {
+        try {
+            return load.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.aggregation.DirectorThresholdIndex;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable view of the director statistics computed by one crawl of the catalogue.
+ *
+ * @param directorMovieCount the movie count per director
+ * @param thresholdIndex the threshold index built from the counts
+ * @param directorStats the statistics per director
+ * @param rankedDirectors the directors by descending movie count, then by name
+ * @param movies the crawled movies, for queries the statistics cannot answer, or {@code null} if the
+ *               statistics were not aggregated from movies held by this node
+ * @param createdAt the instant the crawl completed
+ * @param stale whether the counts are served past their TTL, because a fresh crawl is pending or failed
+ */
+public record DirectorCountSnapshot(Map<String, Integer> directorMovieCount,
+                                    DirectorThresholdIndex thresholdIndex,
+                                    Map<String, DirectorStats> directorStats,
+                                    List<String> rankedDirectors,
+                                    MovieColumns movies,
+                                    Instant createdAt,
+                                    boolean stale) {
+
+    public static DirectorCountSnapshot of(Map<String, DirectorStats> directorStats, Instant createdAt) {
+        return of(new Catalogue(directorStats, null), createdAt);
+    }
+
+    public static DirectorCountSnapshot of(Catalogue catalogue, Instant createdAt) {
+        Map<String, DirectorStats> directorStats = catalogue.directorStats();
+        Map<String, DirectorStats> stats = Map.copyOf(directorStats);
+        Map<String, Integer> counts = new HashMap<>(stats.size() * 4 / 3 + 1);
+        stats.forEach((director, directorStat) -> counts.put(director, directorStat.movieCount()));
+        List<String> ranked = stats.keySet().stream()
+                .sorted(Comparator.comparingInt((String director) -> stats.get(director).movieCount()).reversed()
+                        .thenComparing(Comparator.naturalOrder()))
+                .toList();
+        Map<String, Integer> immutableCounts = Map.copyOf(counts);
+        return new DirectorCountSnapshot(immutableCounts, DirectorThresholdIndex.of(immutableCounts), stats, ranked,
+                catalogue.movies(), createdAt, false);
+    }
+
+    public boolean isOlderThan(Duration age, Instant now) {
+        return !createdAt.plus(age).isAfter(now);
+    }
+
+    /**
+     * @return the same counts, flagged as stale
+     */
+    public DirectorCountSnapshot asStale() {
+        return stale ? this : new DirectorCountSnapshot(directorMovieCount, thresholdIndex, directorStats,
+                rankedDirectors, movies, createdAt, true);
+    }
+}
@@ -1,94 +1,239 @@
 package com.directa24.main.challenge.service.impl;
 
-import com.directa24.main.challenge.api.MovieApiClient;
-import com.directa24.main.challenge.dto.MovieDTO;
-import com.directa24.main.challenge.dto.MoviePageDTO;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.directa24.main.challenge.dto.DirectorBatchDTO;
+import com.directa24.main.challenge.dto.DirectorListDTO;
+import com.directa24.main.challenge.dto.DirectorStatsDTO;
+import com.directa24.main.challenge.dto.DirectorStatsListDTO;
+import com.directa24.main.challenge.dto.DirectorThresholdDTO;
+import com.directa24.main.challenge.exception.DirectorNotFoundException;
+import com.directa24.main.challenge.exception.MoviesUnavailableException;
 import com.directa24.main.challenge.service.DirectorService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.retry.annotation.Backoff;
-import org.springframework.retry.annotation.Retryable;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
 
-import java.util.HashMap;
+import java.util.Collections;
 import java.util.List;
-import java.util.Map;
-import java.util.stream.Collectors;
 
 @Service
 public class DirectorServiceImpl implements DirectorService {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(DirectorServiceImpl.class);
-    private final MovieApiClient movieApiClient;
+    private final DirectorCountCache directorCountCache;
 
-    public DirectorServiceImpl(MovieApiClient movieApiClient) {
-        this.movieApiClient = movieApiClient;
+    public DirectorServiceImpl(DirectorCountCache directorCountCache) {
+        this.directorCountCache = directorCountCache;
     }
 
     /**
      * Retrieves a list of directors who directed more movies than the given threshold.
      *
-     * <p>Fetches and processes paginated API data to compute movie counts per director.
+     * <p>Serves the movie counts per director from the shared {@link DirectorCountCache}, crawling the
+     * paginated API only when no fresh snapshot is available; concurrent requests on a cold cache share a
+     * single crawl, whatever their threshold. The answer is read from the snapshot's
+     * precomputed threshold index, so no sorting happens per request.
      * Returns an alphabetically sorted list of directors whose movie counts strictly exceed the threshold.
-     * Retries API calls up to three times with exponential backoff in case of failures.</p>
+     * Transient API failures are retried per page by the API client, without restarting the crawl.
+     * If the counts cannot be reloaded, the last known counts are used and the result is flagged as stale.</p>
      *
      * @param threshold the minimum movie count a director must exceed to be included
-     * @return a sorted {@link List} of director names, or an empty list if none qualify
-     * @throws RuntimeException if all retry attempts fail
+     * @return the sorted director names, or an empty list if none qualify, with the freshness of the counts
+     * @throws RuntimeException if a page still fails after its retries and no previous counts exist
      */
     @Override
-    @Retryable(
-            retryFor = {RuntimeException.class},
-            maxAttempts = 3,
-            backoff = @Backoff(delay = 1000, multiplier = 2)
-    )
-    public List<String> getDirectors(int threshold) {
+    public DirectorListDTO getDirectors(int threshold) {
         LOGGER.info("Fetching directors with a threshold of {} movies.", threshold);
 
-        Map<String, Integer> directorMovieCount = new HashMap<>();
-        int page = 1;
-        boolean hasMorePages;
+        DirectorCountSnapshot snapshot = directorCountCache.getSnapshot();
 
-        do {
-            LOGGER.debug("Fetching page {} from the downstream API.", page);
+        LOGGER.debug("Fetched {} directors with {} movies.", snapshot.directorMovieCount(), threshold);
 
-            MoviePageDTO pageData = movieApiClient.fetchMovies(page);
+        List<String> directors = snapshot.thresholdIndex().directorsAbove(threshold);
 
-            if (pageData == null || pageData.getData() == null) {
-                LOGGER.warn("No data found on page {}.", page);
-                break;
-            }
+        LOGGER.info("Successfully fetched {} directors exceeding the threshold.", directors.size());
+        return toDirectorList(snapshot, directors, null);
+    }
 
-            updateDirectorMovieCount(pageData.getData(), directorMovieCount);
+    /**
+     * Retrieves one page of the directors who directed more movies than the given threshold.
+     *
+     * <p>Pages are read as views of the snapshot's precomputed threshold index, so a page costs a binary
+     * search and holds no copy of the result set. Pages are keyed by director name: pass the {@code next}
+     * cursor of a page as {@code after} to get the following page.</p>
+     *
+     * @param threshold the minimum movie count a director must exceed to be included
+     * @param after the last director of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of directors in the page
+     * @return the page of sorted director names, with the cursor of the next page if there is one
+     * @throws RuntimeException if a page still fails after its retries and no previous counts exist
+     */
+    @Override
+    public DirectorListDTO getDirectors(int threshold, String after, int limit) {
+        LOGGER.info("Fetching up to {} directors after {} with a threshold of {} movies.", limit, after, threshold);
 
-            int totalPages = pageData.getTotalPages();
-            hasMorePages = page < totalPages;
-            page++;
-        } while (hasMorePages);
+        DirectorCountSnapshot snapshot = directorCountCache.getSnapshot();
+        List<String> directors = snapshot.thresholdIndex().directorsAbove(threshold);
+        return toDirectorPage(snapshot, directors, snapshot.thresholdIndex().directorsAbove(threshold, after, limit));
+    }
 
-        LOGGER.debug("Fetched {} directors with {} movies.", directorMovieCount, threshold);
+    /**
+     * Retrieves one page of the directors who directed more movies than the given threshold in or after a
+     * given year.
+     *
+     * <p>The counts are taken from the snapshot's columnar movie store in one pass over its year and director
+     * columns, without going back to the movie API. Only the directors above the threshold are sorted, and
+     * the page after {@code after} is found by binary search, as in {@link #getDirectors(int, String, int)}.</p>
+     *
+     * @param threshold the minimum movie count since {@code sinceYear} a director must exceed to be included
+     * @param sinceYear the earliest release year of the movies to count
+     * @param after the last director of the previous page, or {@code null} for the first page
+     * @param limit the maximum number of directors in the page
+     * @return the page of sorted director names, with the cursor of the next page if there is one
+     * @throws MoviesUnavailableException if the snapshot only holds statistics, not the movies themselves
+     * @throws RuntimeException if a page still fails after its retries and no previous counts exist
+     */
+    @Override
+    public DirectorListDTO getDirectorsSince(int threshold, int sinceYear, String after, int limit) {
+        LOGGER.info("Fetching up to {} directors after {} with a threshold of {} movies since {}.",
+                limit, after, threshold, sinceYear);
+
+        DirectorCountSnapshot snapshot = directorCountCache.getSnapshot();
+        MovieColumns movies = snapshot.movies();
+        if (movies == null) {
+            throw new MoviesUnavailableException("Movies by year are not available until this node crawls "
+                    + "the whole catalogue itself");
+        }
+        List<String> directors = movies.directorsAbove(threshold, sinceYear);
+        int start = 0;
+        if (after != null) {
+            int position = Collections.binarySearch(directors, after);
+            start = position >= 0 ? position + 1 : -position - 1;
+        }
+        int end = (int) Math.min(directors.size(), (long) start + limit);
+        return toDirectorPage(snapshot, directors, directors.subList(start, end));
+    }
 
-        List<String> directors = directorMovieCount.entrySet().stream()
-                .filter(entry -> entry.getValue() > threshold)
-                .map(Map.Entry::getKey)
-                .sorted()
-                .collect(Collectors.toList());
+    /**
+     * Retrieves the directors above each of several thresholds, optionally restricted to a name prefix.
+     *
+     * <p>Every threshold is answered from the same snapshot, so a batch costs at most one crawl and its
+     * results are consistent with each other. Each result is a view of the snapshot's precomputed threshold
+     * index, narrowed to the prefix by binary search, so the sorted director lists are shared between the
+     * thresholds rather than copied.</p>
+     *
+     * @param thresholds the thresholds to answer, each 0 or greater; repeated thresholds are answered once
+     * @param prefix the case-sensitive start of the director names to include, or {@code null} for every name
+     * @return the sorted director names per threshold, in request order, with the freshness of the counts
+     * @throws IllegalArgumentException if no threshold is given or a threshold is negative
+     * @throws RuntimeException if a page still fails after its retries and no previous counts exist
+     */
+    @Override
+    public DirectorBatchDTO getDirectors(List<Integer> thresholds, String prefix) {
+        if (thresholds.isEmpty() || thresholds.stream().anyMatch(threshold -> threshold == null || threshold < 0)) {
+            throw new IllegalArgumentException("Thresholds must be one or more values of 0 or greater");
+        }
+        LOGGER.info("Fetching directors with thresholds of {} movies and prefix {}.", thresholds, prefix);
+
+        DirectorCountSnapshot snapshot = directorCountCache.getSnapshot();
+        String namePrefix = prefix == null || prefix.isEmpty() ? null : prefix;
+        List<DirectorThresholdDTO> results = thresholds.stream()
+                .distinct()
+                .map(threshold -> new DirectorThresholdDTO(threshold,
+                        snapshot.thresholdIndex().directorsAbove(threshold, namePrefix)))
+                .toList();
+
+        if (snapshot.stale()) {
+            LOGGER.warn("Answering from stale director counts computed at {}.", snapshot.createdAt());
+        }
+        return new DirectorBatchDTO(namePrefix, results, snapshot.stale(), snapshot.createdAt());
+    }
 
-        LOGGER.info("Successfully fetched {} directors exceeding the threshold.", directors.size());
-        return directors;
+    /**
+     * Reactive counterpart of {@link #getDirectors(int)} that never blocks the calling thread.
+     *
+     * <p>Serves the counts from the shared {@link DirectorCountCache} when a fresh snapshot exists;
+     * otherwise loads the catalogue from the configured source without blocking (for the API source,
+     * pages are streamed with bounded concurrency and folded as they arrive) and stores the counts in
+     * the cache.</p>
+     *
+     * @param threshold the minimum movie count a director must exceed to be included
+     * @return a {@link Mono} emitting the sorted director names with the freshness of the counts
+     */
+    @Override
+    public Mono<DirectorListDTO> getDirectorsReactive(int threshold) {
+        LOGGER.info("Streaming directors with a threshold of {} movies.", threshold);
+
+        return directorCountCache.getSnapshotReactive()
+                .map(snapshot -> toDirectorList(snapshot, snapshot.thresholdIndex().directorsAbove(threshold), null))
+                .doOnNext(result ->
+                        LOGGER.info("Successfully streamed {} directors exceeding the threshold.",
+                                result.directors().size()));
     }
 
     /**
-     * Updates movie counts for directors based on the provided movie list.
+     * Retrieves the statistics of the directors with the most movies.
+     *
+     * <p>Statistics are aggregated during the same crawl as the movie counts and ranked once per snapshot,
+     * so this is a slice of a precomputed ranking. Ties are broken by director name.</p>
      *
-     * @param movies the list of {@link MovieDTO} objects
-     * @param directorMovieCount the map tracking movie counts per director
+     * @param limit the maximum number of directors to return
+     * @return the statistics of the top directors, by descending movie count
+     * @throws RuntimeException if the crawl fails and no previous statistics exist
      */
-    private void updateDirectorMovieCount(List<MovieDTO> movies, Map<String, Integer> directorMovieCount) {
-        for (MovieDTO movie : movies) {
-            String director = movie.getDirector();
-            directorMovieCount.put(director, directorMovieCount.getOrDefault(director, 0) + 1);
+    @Override
+    public DirectorStatsListDTO getTopDirectors(int limit) {
+        LOGGER.info("Fetching the statistics of the top {} directors.", limit);
+
+        DirectorCountSnapshot snapshot = directorCountCache.getSnapshot();
+        List<DirectorStatsDTO> directors = snapshot.rankedDirectors().stream()
+                .limit(limit)
+                .map(director -> DirectorStatsDTO.of(director, snapshot.directorStats().get(director)))
+                .toList();
+
+        if (snapshot.stale()) {
+            LOGGER.warn("Answering from stale director statistics computed at {}.", snapshot.createdAt());
+        }
+        return new DirectorStatsListDTO(directors, snapshot.stale(), snapshot.createdAt());
+    }
+
+    /**
+     * Retrieves the statistics of one director.
+     *
+     * @param director the exact director name
+     * @return the statistics of the director
+     * @throws DirectorNotFoundException if the director has no movie in the catalogue
+     * @throws RuntimeException if the crawl fails and no previous statistics exist
+     */
+    @Override
+    public DirectorStatsDTO getDirectorStats(String director) {
+        LOGGER.info("Fetching the statistics of director {}.", director);
+
+        DirectorStats stats = directorCountCache.getSnapshot().directorStats().get(director);
+        if (stats == null) {
+            throw new DirectorNotFoundException("Director not found: " + director);
+        }
+        return DirectorStatsDTO.of(director, stats);
+    }
+
+    /**
+     * @param directors every director of the query, in alphabetical order
+     * @param page the directors of the requested page
+     */
+    private static DirectorListDTO toDirectorPage(DirectorCountSnapshot snapshot, List<String> directors,
+                                                  List<String> page) {
+        String last = page.isEmpty() ? null : page.get(page.size() - 1);
+        String next = last != null && !last.equals(directors.get(directors.size() - 1)) ? last : null;
+        return toDirectorList(snapshot, page, next);
+    }
+
+    private static DirectorListDTO toDirectorList(DirectorCountSnapshot snapshot, List<String> directors,
+                                                  String next) {
+        if (snapshot.stale()) {
+            LOGGER.warn("Answering from stale director counts computed at {}.", snapshot.createdAt());
         }
-        LOGGER.debug("Updated director movie counts. Current size: {}", directorMovieCount.size());
+        return new DirectorListDTO(directors, snapshot.stale(), snapshot.createdAt(), next);
     }
 }
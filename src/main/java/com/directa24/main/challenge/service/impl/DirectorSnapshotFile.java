@@ -0,0 +1,270 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Compact binary encoding of director statistics, used for the {@link DirectorCountSnapshot} files read back
+ * through a memory-mapped buffer and for the partial statistics that crawl nodes send each other.
+ *
+ * <p>Layout, big-endian:</p>
+ * <pre>
+ * int     magic ("D24S"), int version
+ * long    createdAt (epoch millis), long totalMovies
+ * int     genre count, then each genre name
+ * int     director count, then per director:
+ *         name, int movieCount, int firstYear, int lastYear (0 if unknown),
+ *         long totalRuntimeMinutes, int genre entries, then (int genre index, int movies) per entry
+ * long    CRC32 of every preceding byte
+ * </pre>
+ *
+ * <p>Strings are written as an {@code int} byte length followed by their UTF-8 bytes. Genre names are
+ * written once in a dictionary and referenced by index. Files are written to a temporary sibling and
+ * moved into place, so readers never see a partially written snapshot.</p>
+ *
+ * <p>Every statistic is a sum, a minimum or a maximum, so decoded statistics of disjoint page ranges can be
+ * merged into those of the whole catalogue.</p>
+ */
+final class DirectorSnapshotFile {
+
+    private static final int MAGIC = 0x44323453;
+    private static final int VERSION = 1;
+    private static final int CHECKSUM_BYTES = Long.BYTES;
+    private static final int MIN_DIRECTOR_BYTES = 5 * Integer.BYTES + Long.BYTES;
+    private static final int GENRE_ENTRY_BYTES = 2 * Integer.BYTES;
+
+    private DirectorSnapshotFile() {
+    }
+
+    /**
+     * Writes the snapshot to the file, replacing it atomically.
+     *
+     * @param snapshot the snapshot to write
+     * @param file the snapshot file
+     * @throws IOException if the file cannot be written
+     */
+    static void write(DirectorCountSnapshot snapshot, Path file) throws IOException {
+        Path directory = file.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                write(snapshot.directorStats(), snapshot.createdAt(), out);
+            }
+            Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    /**
+     * Encodes the statistics, followed by their checksum, to the stream. The stream is flushed but not closed.
+     *
+     * @param directorStats the statistics per director
+     * @param createdAt the instant the statistics were computed
+     * @param out the stream to write to
+     * @throws IOException if the stream cannot be written
+     */
+    static void write(Map<String, DirectorStats> directorStats, Instant createdAt, OutputStream out)
+            throws IOException {
+        CRC32 checksum = new CRC32();
+        DataOutputStream checkedOut = new DataOutputStream(
+                new BufferedOutputStream(new CheckedOutputStream(out, checksum)));
+        encode(directorStats, createdAt, checkedOut);
+        checkedOut.flush();
+        DataOutputStream checksumOut = new DataOutputStream(out);
+        checksumOut.writeLong(checksum.getValue());
+        checksumOut.flush();
+    }
+
+    /**
+     * Maps the file and decodes the snapshot it holds. The returned snapshot is never flagged as stale.
+     *
+     * @param file the snapshot file
+     * @return the decoded snapshot
+     * @throws IOException if the file cannot be read, is not a snapshot or fails its checksum
+     */
+    static DirectorCountSnapshot read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 2 * Integer.BYTES + CHECKSUM_BYTES || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a director snapshot: " + file);
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Contents contents = read(buffer, file.toString());
+            return DirectorCountSnapshot.of(contents.directorStats(), contents.createdAt());
+        }
+    }
+
+    /**
+     * Decodes statistics written by {@link #write(Map, Instant, OutputStream)}.
+     *
+     * @param buffer the encoded statistics and their checksum, from its position to its limit
+     * @param source the file or peer the statistics come from, for error messages
+     * @return the decoded statistics
+     * @throws IOException if the buffer does not hold statistics or fails its checksum
+     */
+    static Contents read(ByteBuffer buffer, String source) throws IOException {
+        ByteBuffer contents = buffer.slice();
+        if (contents.remaining() < 2 * Integer.BYTES + CHECKSUM_BYTES) {
+            throw new IOException("Not a director snapshot: " + source);
+        }
+        verifyChecksum(contents, source);
+        try {
+            return decode(contents.limit(contents.limit() - CHECKSUM_BYTES), source);
+        } catch (BufferUnderflowException | IllegalArgumentException | IndexOutOfBoundsException
+                 | NegativeArraySizeException e) {
+            throw new IOException("Malformed director snapshot: " + source, e);
+        }
+    }
+
+    private static void encode(Map<String, DirectorStats> directorStats, Instant createdAt, DataOutputStream out)
+            throws IOException {
+        Map<String, Integer> genreIndex = new HashMap<>();
+        List<String> genres = new ArrayList<>();
+        long totalMovies = 0;
+        for (DirectorStats stats : directorStats.values()) {
+            totalMovies += stats.movieCount();
+            for (String genre : stats.genres().keySet()) {
+                genreIndex.computeIfAbsent(genre, name -> {
+                    genres.add(name);
+                    return genres.size() - 1;
+                });
+            }
+        }
+
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(createdAt.toEpochMilli());
+        out.writeLong(totalMovies);
+        out.writeInt(genres.size());
+        for (String genre : genres) {
+            writeString(out, genre);
+        }
+        out.writeInt(directorStats.size());
+        for (Map.Entry<String, DirectorStats> entry : directorStats.entrySet()) {
+            DirectorStats stats = entry.getValue();
+            writeString(out, entry.getKey());
+            out.writeInt(stats.movieCount());
+            out.writeInt(stats.firstYear() == null ? 0 : stats.firstYear());
+            out.writeInt(stats.lastYear() == null ? 0 : stats.lastYear());
+            out.writeLong(stats.totalRuntimeMinutes());
+            out.writeInt(stats.genres().size());
+            for (Map.Entry<String, Integer> genre : stats.genres().entrySet()) {
+                out.writeInt(genreIndex.get(genre.getKey()));
+                out.writeInt(genre.getValue());
+            }
+        }
+    }
+
+    private static Contents decode(ByteBuffer buffer, String source) throws IOException {
+        if (buffer.getInt() != MAGIC) {
+            throw new IOException("Not a director snapshot: " + source);
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported director snapshot version " + version + ": " + source);
+        }
+        Instant createdAt = Instant.ofEpochMilli(buffer.getLong());
+        long totalMovies = buffer.getLong();
+
+        String[] genres = new String[readCount(buffer, Integer.BYTES, source)];
+        for (int i = 0; i < genres.length; i++) {
+            genres[i] = readString(buffer, source);
+        }
+
+        int directorCount = readCount(buffer, MIN_DIRECTOR_BYTES, source);
+        Map<String, DirectorStats> directorStats = new HashMap<>(directorCount * 4 / 3 + 1);
+        long movies = 0;
+        for (int i = 0; i < directorCount; i++) {
+            String director = readString(buffer, source);
+            int movieCount = buffer.getInt();
+            int firstYear = buffer.getInt();
+            int lastYear = buffer.getInt();
+            long totalRuntimeMinutes = buffer.getLong();
+            Map<String, Integer> directorGenres = new LinkedHashMap<>();
+            for (int entries = readCount(buffer, GENRE_ENTRY_BYTES, source); entries > 0; entries--) {
+                int genre = buffer.getInt();
+                if (genre < 0 || genre >= genres.length) {
+                    throw new IOException("Malformed director snapshot: " + source);
+                }
+                directorGenres.put(genres[genre], buffer.getInt());
+            }
+            directorStats.put(director, new DirectorStats(movieCount,
+                    firstYear == 0 ? null : firstYear,
+                    lastYear == 0 ? null : lastYear,
+                    totalRuntimeMinutes,
+                    Collections.unmodifiableMap(directorGenres)));
+            movies += movieCount;
+        }
+
+        if (buffer.hasRemaining() || movies != totalMovies) {
+            throw new IOException("Malformed director snapshot: " + source);
+        }
+        return new Contents(createdAt, directorStats);
+    }
+
+    private static void verifyChecksum(ByteBuffer buffer, String source) throws IOException {
+        int contentLength = buffer.limit() - CHECKSUM_BYTES;
+        CRC32 checksum = new CRC32();
+        checksum.update(buffer.duplicate().limit(contentLength));
+        if (checksum.getValue() != buffer.getLong(contentLength)) {
+            throw new IOException("Director snapshot failed its checksum: " + source);
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer, String source) throws IOException {
+        byte[] bytes = new byte[readCount(buffer, 1, source)];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads the number of elements that follow, before anything is allocated for them: it must be non-negative,
+     * and the elements, of at least {@code elementBytes} each, must fit in the rest of the buffer.
+     */
+    private static int readCount(ByteBuffer buffer, int elementBytes, String source) throws IOException {
+        int count = buffer.getInt();
+        if (count < 0 || count > buffer.remaining() / elementBytes) {
+            throw new IOException("Malformed director snapshot: " + source);
+        }
+        return count;
+    }
+
+    /**
+     * Decoded statistics.
+     *
+     * @param createdAt the instant the statistics were computed
+     * @param directorStats the statistics per director
+     */
+    record Contents(Instant createdAt, Map<String, DirectorStats> directorStats) {
+    }
+}
@@ -0,0 +1,107 @@
+package com.directa24.main.challenge.service.impl;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * Persists the cached director counts to {@code directors.snapshot.path} so a restarted instance can
+ * serve them without crawling the catalogue first.
+ *
+ * <p>On startup, before the application accepts requests, the snapshot file is memory-mapped and
+ * restored into the {@link DirectorCountCache}. It keeps the time of its crawl, so counts older than the
+ * cache TTL are served as stale while they are reloaded, and a missing, unreadable or corrupt file only
+ * means a cold start. Every {@code directors.snapshot.write-interval}, and once more on shutdown, the
+ * cached snapshot is written back if it changed since the last write.</p>
+ */
+@Component
+@ConditionalOnProperty(name = "directors.snapshot.path")
+public class DirectorSnapshotStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DirectorSnapshotStore.class);
+    private final DirectorCountCache directorCountCache;
+    private final Path snapshotPath;
+    private Instant lastWritten;
+
+    public DirectorSnapshotStore(DirectorCountCache directorCountCache,
+                                 @Value("${directors.snapshot.path}") String snapshotPath) {
+        this.directorCountCache = directorCountCache;
+        this.snapshotPath = Path.of(snapshotPath);
+    }
+
+    /**
+     * Restores the snapshot file into the cache, if it exists and is valid.
+     *
+     * @return whether a snapshot was restored
+     */
+    public synchronized boolean restore() {
+        if (!Files.exists(snapshotPath)) {
+            LOGGER.info("No director snapshot at {}, the counts will be crawled on first use.", snapshotPath);
+            return false;
+        }
+        long start = System.nanoTime();
+        try {
+            DirectorCountSnapshot restored = DirectorSnapshotFile.read(snapshotPath);
+            if (!directorCountCache.restore(restored)) {
+                return false;
+            }
+            lastWritten = restored.createdAt();
+            LOGGER.info("Restored director snapshot {} in {} ms.", snapshotPath, (System.nanoTime() - start) / 1_000_000);
+            return true;
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            LOGGER.warn("Ignoring unreadable director snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Writes the cached snapshot to the snapshot file, unless it was already written.
+     *
+     * @return whether the file was written
+     */
+    public synchronized boolean write() {
+        Optional<DirectorCountSnapshot> current = directorCountCache.getCurrent();
+        if (current.isEmpty() || current.get().createdAt().equals(lastWritten)) {
+            return false;
+        }
+        try {
+            DirectorSnapshotFile.write(current.get(), snapshotPath);
+            lastWritten = current.get().createdAt();
+            LOGGER.debug("Wrote director snapshot from {} to {}.", lastWritten, snapshotPath);
+            return true;
+        } catch (IOException e) {
+            LOGGER.warn("Failed to write director snapshot {}: {}", snapshotPath, e.getMessage());
+            return false;
+        }
+    }
+
+    @PostConstruct
+    public void restoreOnStartup() {
+        restore();
+    }
+
+    @Scheduled(initialDelayString = "${directors.snapshot.write-interval:PT1M}",
+            fixedDelayString = "${directors.snapshot.write-interval:PT1M}")
+    public void writeInBackground() {
+        write();
+    }
+
+    @PreDestroy
+    public void writeOnShutdown() {
+        write();
+    }
+}
@@ -0,0 +1,503 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.aggregation.DirectorStatsCollector;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.directa24.main.challenge.api.FetchedPage;
+import com.directa24.main.challenge.api.MovieApiClient;
+import com.directa24.main.challenge.api.PageFingerprint;
+import com.directa24.main.challenge.config.PageRetryProperties;
+import com.directa24.main.challenge.exception.UpstreamTimeoutException;
+import com.directa24.main.challenge.service.DirectorCountSource;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+@Component
+@ConditionalOnProperty(name = "directors.source", havingValue = "api", matchIfMissing = true)
+public class MovieCatalogCrawler implements DirectorCountSource {
+
+    /**
+     * The widest page range crawled on behalf of a peer. Wider ranges are refused, and crawled by the
+     * coordinating node itself instead.
+     */
+    public static final int MAX_RANGE_PAGES = 10_000;
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(MovieCatalogCrawler.class);
+    private final MovieApiClient movieApiClient;
+    private final CrawlPeerClient crawlPeerClient;
+    private final Executor movieFetchExecutor;
+    private final Duration crawlTimeout;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary crawlPages;
+    private final DistributionSummary crawlMovies;
+    private final DistributionSummary crawlChangedPages;
+    private final Counter peerFallbacks;
+    private final Map<Integer, CrawledPage> crawledPages = new ConcurrentHashMap<>();
+    private MovieColumns mergedMovies = MovieColumns.empty();
+
+    public MovieCatalogCrawler(MovieApiClient movieApiClient,
+                               CrawlPeerClient crawlPeerClient,
+                               @Qualifier("movieFetchExecutor") Executor movieFetchExecutor,
+                               PageRetryProperties pageRetryProperties,
+                               MeterRegistry meterRegistry) {
+        this.movieApiClient = movieApiClient;
+        this.crawlPeerClient = crawlPeerClient;
+        this.movieFetchExecutor = movieFetchExecutor;
+        this.crawlTimeout = pageRetryProperties.crawlTimeout();
+        this.meterRegistry = meterRegistry;
+        this.crawlPages = DistributionSummary.builder("directors.crawl.pages")
+                .description("Pages processed per crawl of the catalogue")
+                .register(meterRegistry);
+        this.crawlChangedPages = DistributionSummary.builder("directors.crawl.pages.changed")
+                .description("Pages changed since the previous crawl, and aggregated again")
+                .register(meterRegistry);
+        this.crawlMovies = DistributionSummary.builder("directors.crawl.movies")
+                .description("Movies with a director counted per crawl of the catalogue")
+                .register(meterRegistry);
+        this.peerFallbacks = Counter.builder("directors.crawl.peer.fallbacks")
+                .description("Page ranges crawled locally because their peer failed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Crawls the whole catalogue into a columnar movie store and aggregates the statistics of each director.
+     *
+     * <p>Fetches the first page to discover the total page count, then fetches the remaining pages
+     * concurrently on the movie fetch executor. Failed pages are retried individually by the
+     * {@link MovieApiClient}, so the pages already fetched are kept; the crawl as a whole must complete
+     * within {@code api.retry.crawl-timeout}. The crawl is timed as {@code directors.crawl}, and its page,
+     * changed page and movie totals are recorded.</p>
+     *
+     * <p>The crawl is incremental: each page is fetched against its fingerprint from the previous crawl,
+     * and only the pages that changed are decoded again, into a {@link MovieColumns} chunk of their own. The
+     * chunks of the changed pages and the movies of the unchanged pages are concatenated into the catalogue
+     * store the statistics are aggregated from, which then holds the only copy of the movies: each page keeps
+     * its fingerprint and the position of its movies in the store.</p>
+     *
+     * <p>When {@code directors.cluster.peers} lists other nodes, the crawl is shared with them: the pages are
+     * split into one contiguous range per node, this node crawls the first range and each peer crawls the
+     * next one and answers with its partial statistics, which are merged with the local ones. Ranges only
+     * move when the page count changes, so each node keeps reusing the pages it crawled before. The range
+     * of a peer that fails or does not answer in time is crawled locally instead, and counted as
+     * {@code directors.crawl.peer.fallbacks}. A shared crawl only has the statistics of the peer ranges, so
+     * its catalogue has no movie store.</p>
+     *
+     * @return the crawled {@link Catalogue}
+     * @throws RuntimeException if any page still fails after its retries
+     * @throws UpstreamTimeoutException if the crawl exceeds its time budget
+     */
+    @Override
+    public Catalogue loadCatalogue() {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Instant deadline = Instant.now().plus(crawlTimeout);
+        AtomicInteger changedPages = new AtomicInteger();
+        List<String> peers = crawlPeerClient.getPeers();
+        int pages;
+        List<PageRange> localRanges = new ArrayList<>();
+        List<Map<String, DirectorStats>> peerPartials = new ArrayList<>();
+        List<CompletableFuture<Map<String, DirectorStats>>> partials = new ArrayList<>();
+
+        try {
+            CrawledPage firstPage = crawlPage(1, changedPages);
+            pages = pageCount(firstPage);
+            List<PageRange> ranges = PageRange.split(1, pages, peers.size() + 1);
+            for (int node = 1; node < ranges.size(); node++) {
+                PageRange range = ranges.get(node);
+                partials.add(crawlPeerClient.fetchPartial(peers.get(node - 1), range.from(), range.to()).toFuture());
+            }
+
+            localRanges.add(ranges.get(0));
+            fetchPages(2, ranges.get(0).to(), changedPages, deadline);
+            for (int node = 1; node < ranges.size(); node++) {
+                PageRange range = ranges.get(node);
+                Map<String, DirectorStats> partial = awaitPartial(peers.get(node - 1), range,
+                        partials.get(node - 1), deadline);
+                if (partial != null) {
+                    peerPartials.add(partial);
+                } else {
+                    peerFallbacks.increment();
+                    fetchPages(range.from(), range.to(), changedPages, deadline);
+                    localRanges.add(range);
+                }
+            }
+        } catch (RuntimeException e) {
+            partials.forEach(partial -> partial.cancel(true));
+            sample.stop(crawlTimer("error"));
+            throw e;
+        }
+
+        Catalogue catalogue = mergePages(pages, localRanges, peerPartials);
+        LOGGER.debug("Crawled statistics for {} directors, {} of {} pages changed.",
+                catalogue.directorStats().size(), changedPages.get(), pages);
+        recordCrawl(sample, pages, changedPages.get(), catalogue.directorStats());
+        return catalogue;
+    }
+
+    /**
+     * Reactive counterpart of {@link #loadCatalogue()} that never blocks the calling thread.
+     *
+     * <p>Streams the catalogue pages from the API with bounded concurrency, aggregating the pages that
+     * changed as they arrive. The crawl is incremental and recorded in the same meters as the blocking
+     * crawl.</p>
+     *
+     * <p>A crawl shared with peers runs as the blocking crawl, on a bounded elastic thread.</p>
+     *
+     * @return a {@link Mono} emitting the crawled {@link Catalogue}
+     */
+    @Override
+    public Mono<Catalogue> loadCatalogueReactive() {
+        if (!crawlPeerClient.getPeers().isEmpty()) {
+            return Mono.fromCallable(this::loadCatalogue).subscribeOn(Schedulers.boundedElastic());
+        }
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicInteger changedPages = new AtomicInteger();
+            return movieApiClient.streamPages(this::knownFingerprint)
+                    .doOnNext(fetchedPage -> remember(fetchedPage.pageNumber(), fetchedPage, changedPages))
+                    .then(Mono.fromSupplier(() -> {
+                        int pages = pageCount(crawledPages.get(1));
+                        Catalogue catalogue = mergePages(pages, List.of(new PageRange(1, pages)), List.of());
+                        recordCrawl(sample, pages, changedPages.get(), catalogue.directorStats());
+                        return catalogue;
+                    }))
+                    .doOnError(e -> sample.stop(crawlTimer("error")));
+        });
+    }
+
+    /**
+     * Crawls a page range on behalf of the peer coordinating a shared crawl.
+     *
+     * <p>The pages are fetched concurrently against their fingerprints from this node's previous crawls, as in
+     * {@link #loadCatalogue()}, within {@code api.retry.crawl-timeout}. The first page of the range is fetched
+     * first, and the range is cut at the page count it reports, so no page beyond the end of the catalogue is
+     * requested.</p>
+     *
+     * @param fromPage the first page of the range
+     * @param toPage the last page of the range, inclusive
+     * @return the statistics per director of the movies in the range
+     * @throws IllegalArgumentException if the range is empty, starts before the first page or is wider than
+     *                                  {@link #MAX_RANGE_PAGES}
+     * @throws RuntimeException if any page still fails after its retries
+     * @throws UpstreamTimeoutException if the range is not crawled in time
+     */
+    public Map<String, DirectorStats> crawlRange(int fromPage, int toPage) {
+        if (fromPage < 1 || toPage < fromPage) {
+            throw new IllegalArgumentException("Page range must satisfy 1 <= from <= to");
+        }
+        if ((long) toPage - fromPage >= MAX_RANGE_PAGES) {
+            throw new IllegalArgumentException("Page range must not exceed " + MAX_RANGE_PAGES + " pages");
+        }
+        AtomicInteger changedPages = new AtomicInteger();
+        Instant deadline = Instant.now().plus(crawlTimeout);
+        CrawledPage firstPage = crawlPage(fromPage, changedPages);
+        int lastPage = Math.max(fromPage, Math.min(toPage, pageCount(firstPage)));
+        fetchPages(fromPage + 1, lastPage, changedPages, deadline);
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+        appendPages(IntStream.rangeClosed(fromPage, lastPage).boxed().toList(), movies);
+        LOGGER.debug("Crawled pages {} to {} for a peer, {} changed.", fromPage, lastPage, changedPages.get());
+        return movies.build().directorStats();
+    }
+
+    /**
+     * Waits for the partial statistics of a peer until the deadline.
+     *
+     * @return the partial statistics, or {@code null} if the peer failed or did not answer in time
+     */
+    private Map<String, DirectorStats> awaitPartial(String peer, PageRange range,
+                                                    CompletableFuture<Map<String, DirectorStats>> partial,
+                                                    Instant deadline) {
+        try {
+            long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+            return partial.get(remainingMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException | TimeoutException e) {
+            partial.cancel(true);
+            Throwable failure = e instanceof ExecutionException ? e.getCause() : e;
+            LOGGER.warn("Peer {} did not crawl pages {} to {}, crawling them locally: {}",
+                    peer, range.from(), range.to(), failure.toString());
+            return null;
+        } catch (InterruptedException e) {
+            partial.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for peer " + peer, e);
+        }
+    }
+
+    /**
+     * Fetches pages {@code fromPage} to {@code toPage} concurrently.
+     *
+     * <p>The number of requests in flight is bounded by the movie fetch executor: the size of its pool,
+     * or its concurrency limit when pages are fetched on virtual threads, in which case submitting a page
+     * may wait for a slot. Pages are no longer submitted once one has failed or the deadline has passed.
+     * If any page fails, or the deadline passes, the pending fetches are cancelled and the failure is
+     * rethrown.</p>
+     *
+     * @param fromPage the first page to fetch
+     * @param toPage the last page to fetch, inclusive
+     * @param changedPages the count of pages that changed since the previous crawl
+     * @param deadline the instant by which every page must have been fetched
+     */
+    private void fetchPages(int fromPage, int toPage, AtomicInteger changedPages, Instant deadline) {
+        int pageCount = Math.max(0, toPage - fromPage + 1);
+        List<CompletableFuture<CrawledPage>> pageFutures = new ArrayList<>();
+        AtomicBoolean pageFailed = new AtomicBoolean();
+        for (int page = fromPage; page <= toPage && !pageFailed.get() && Instant.now().isBefore(deadline); page++) {
+            int pageNumber = page;
+            pageFutures.add(CompletableFuture
+                    .supplyAsync(() -> crawlPage(pageNumber, changedPages), movieFetchExecutor)
+                    .whenComplete((ignored, failure) -> {
+                        if (failure != null) {
+                            pageFailed.set(true);
+                        }
+                    }));
+        }
+
+        try {
+            long remainingMillis = Math.max(0, Duration.between(Instant.now(), deadline).toMillis());
+            CompletableFuture.allOf(pageFutures.toArray(CompletableFuture[]::new))
+                    .get(remainingMillis, TimeUnit.MILLISECONDS);
+            if (pageFutures.size() < pageCount) {
+                // The deadline passed before every page could be submitted
+                throw new TimeoutException();
+            }
+        } catch (ExecutionException e) {
+            pageFutures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException("Failed to fetch movie pages", e.getCause());
+        } catch (TimeoutException e) {
+            pageFutures.forEach(future -> future.cancel(true));
+            throw new UpstreamTimeoutException("Catalogue was not crawled within " + crawlTimeout);
+        } catch (InterruptedException e) {
+            pageFutures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching movie pages", e);
+        }
+    }
+
+    private CrawledPage crawlPage(int pageNumber, AtomicInteger changedPages) {
+        LOGGER.debug("Fetching page {} from the downstream API.", pageNumber);
+        return remember(pageNumber, movieApiClient.fetchPage(pageNumber, knownFingerprint(pageNumber)),
+                changedPages);
+    }
+
+    private PageFingerprint knownFingerprint(int pageNumber) {
+        CrawledPage known = crawledPages.get(pageNumber);
+        return known == null ? null : known.fingerprint();
+    }
+
+    /**
+     * Records the outcome of a page fetch: a changed page is stored on its own and replaces the
+     * previous state of the page, an unchanged page keeps its movies and takes the fingerprint just
+     * fetched, whose entity tag and page count may have changed.
+     *
+     * @return the current state of the page
+     */
+    private CrawledPage remember(int pageNumber, FetchedPage fetchedPage, AtomicInteger changedPages) {
+        if (fetchedPage == null) {
+            LOGGER.warn("No data found on page {}.", pageNumber);
+            crawledPages.remove(pageNumber);
+            return null;
+        }
+        if (!fetchedPage.modified()) {
+            return crawledPages.computeIfPresent(pageNumber, (page, crawledPage) -> new CrawledPage(
+                    fetchedPage.fingerprint(), crawledPage.movies(), crawledPage.fromMovie(),
+                    crawledPage.toMovie(), crawledPage.hasData()));
+        }
+
+        changedPages.incrementAndGet();
+        boolean hasData = fetchedPage.summary().hasData();
+        if (!hasData) {
+            LOGGER.warn("No data found on page {}.", pageNumber);
+        }
+        MovieColumns chunk = fetchedPage.movies();
+        CrawledPage crawledPage = new CrawledPage(fetchedPage.fingerprint(), chunk, 0, chunk.size(), hasData);
+        crawledPages.put(pageNumber, crawledPage);
+        return crawledPage;
+    }
+
+    /**
+     * Concatenates the movies of the pages crawled locally into the catalogue store, merges their statistics
+     * with the partial statistics of the peers, and forgets the pages beyond {@code pages}, which the catalogue
+     * no longer has.
+     *
+     * <p>The merged pages are pointed at their movies in the new store, which releases the chunks of the pages
+     * that changed. Pages crawled by a peer are kept, so that they can be reused if the peer fails later; those
+     * that pointed into the previous store are copied out of it, so it is not retained.</p>
+     */
+    private synchronized Catalogue mergePages(int pages, List<PageRange> localRanges,
+                                              List<Map<String, DirectorStats>> peerPartials) {
+        crawledPages.keySet().removeIf(page -> page > pages);
+        MovieColumns previous = mergedMovies;
+        MovieColumns.Builder builder = new MovieColumns.Builder();
+        List<PagePosition> merged = new ArrayList<>();
+        localRanges.forEach(range ->
+                merged.addAll(appendPages(IntStream.rangeClosed(range.from(), range.to()).boxed().toList(), builder)));
+        MovieColumns movies = builder.build();
+        repoint(merged, movies);
+        mergedMovies = movies;
+
+        List<Integer> retained = crawledPages.entrySet().stream()
+                .filter(entry -> entry.getValue().movies() == previous)
+                .map(Map.Entry::getKey)
+                .sorted()
+                .toList();
+        if (!retained.isEmpty()) {
+            MovieColumns.Builder detached = new MovieColumns.Builder();
+            List<PagePosition> positions = appendPages(retained, detached);
+            repoint(positions, detached.build());
+        }
+
+        Catalogue local = Catalogue.of(movies);
+        if (peerPartials.isEmpty()) {
+            return local;
+        }
+
+        DirectorStatsCollector directorStats = new DirectorStatsCollector();
+        local.directorStats().forEach(directorStats::add);
+        peerPartials.forEach(partial -> partial.forEach(directorStats::add));
+        return new Catalogue(directorStats.toMap(), null);
+    }
+
+    /**
+     * Appends the movies of the given pages, in order, copying each run of pages whose movies are contiguous in
+     * the same store at once.
+     *
+     * @return the position of each appended page in the builder
+     */
+    private List<PagePosition> appendPages(List<Integer> pageNumbers, MovieColumns.Builder builder) {
+        List<PagePosition> positions = new ArrayList<>(pageNumbers.size());
+        MovieColumns runMovies = null;
+        int runFrom = 0;
+        int runTo = 0;
+        for (int pageNumber : pageNumbers) {
+            CrawledPage crawledPage = crawledPages.get(pageNumber);
+            if (crawledPage == null) {
+                continue;
+            }
+            if (crawledPage.movies() != runMovies || crawledPage.fromMovie() != runTo) {
+                if (runMovies != null) {
+                    builder.addAll(runMovies, runFrom, runTo);
+                }
+                runMovies = crawledPage.movies();
+                runFrom = crawledPage.fromMovie();
+            }
+            runTo = crawledPage.toMovie();
+            int position = builder.size() + crawledPage.fromMovie() - runFrom;
+            positions.add(new PagePosition(pageNumber, crawledPage,
+                    position, position + crawledPage.toMovie() - crawledPage.fromMovie()));
+        }
+        if (runMovies != null) {
+            builder.addAll(runMovies, runFrom, runTo);
+        }
+        return positions;
+    }
+
+    /**
+     * Points the appended pages at their movies in the built store, unless a page was fetched again meanwhile.
+     */
+    private void repoint(List<PagePosition> positions, MovieColumns movies) {
+        for (PagePosition position : positions) {
+            CrawledPage appended = position.crawledPage();
+            crawledPages.computeIfPresent(position.pageNumber(), (page, crawledPage) ->
+                    crawledPage.movies() == appended.movies() && crawledPage.fromMovie() == appended.fromMovie()
+                            ? new CrawledPage(crawledPage.fingerprint(), movies, position.fromMovie(),
+                                    position.toMovie(), crawledPage.hasData())
+                            : crawledPage);
+        }
+    }
+
+    /**
+     * The number of pages in the catalogue, as reported by its first page. A first page without data
+     * ends the crawl.
+     */
+    private static int pageCount(CrawledPage firstPage) {
+        if (firstPage == null || !firstPage.hasData()) {
+            return 1;
+        }
+        return Math.max(1, firstPage.fingerprint().totalPages());
+    }
+
+    private void recordCrawl(Timer.Sample sample, int pages, int changedPages, Map<String, DirectorStats> stats) {
+        sample.stop(crawlTimer("success"));
+        crawlPages.record(pages);
+        crawlChangedPages.record(changedPages);
+        crawlMovies.record(stats.values().stream().mapToInt(DirectorStats::movieCount).sum());
+    }
+
+    private Timer crawlTimer(String outcome) {
+        return Timer.builder("directors.crawl")
+                .description("Duration of a crawl of the catalogue")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /**
+     * Movies of one page as of its last fetch.
+     *
+     * @param fingerprint the fingerprint of the page
+     * @param movies the store holding the movies of the page: its own chunk, or a store shared with other pages
+     * @param fromMovie the index of the first movie of the page in the store
+     * @param toMovie the index after the last movie of the page in the store
+     * @param hasData whether the page had a movie list
+     */
+    private record CrawledPage(PageFingerprint fingerprint, MovieColumns movies, int fromMovie, int toMovie,
+                               boolean hasData) {
+    }
+
+    /**
+     * Position of the movies of a page in a store being built.
+     */
+    private record PagePosition(int pageNumber, CrawledPage crawledPage, int fromMovie, int toMovie) {
+    }
+
+    /**
+     * Contiguous range of pages, inclusive.
+     */
+    record PageRange(int from, int to) {
+
+        /**
+         * Splits pages {@code from} to {@code to} into at most {@code parts} contiguous ranges whose sizes differ
+         * by at most one page, larger ranges first.
+         *
+         * @return the non-empty ranges, in page order
+         */
+        static List<PageRange> split(int from, int to, int parts) {
+            int pages = to - from + 1;
+            int rangeCount = Math.min(parts, pages);
+            List<PageRange> ranges = new ArrayList<>(Math.max(0, rangeCount));
+            int start = from;
+            for (int range = 0; range < rangeCount; range++) {
+                int size = pages / rangeCount + (range < pages % rangeCount ? 1 : 0);
+                ranges.add(new PageRange(start, start + size - 1));
+                start += size;
+            }
+            return ranges;
+        }
+    }
+}
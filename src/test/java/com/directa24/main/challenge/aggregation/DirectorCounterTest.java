@@ -0,0 +1,67 @@
+package com.directa24.main.challenge.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectorCounterTest {
+
+    @Test
+    void increment_countsStringsAndCharRangesAsTheSameDirector() {
+        DirectorCounter counter = new DirectorCounter();
+        char[] buffer = "xxWoody Allenxx".toCharArray();
+
+        counter.increment("Woody Allen");
+        counter.increment(buffer, 2, 11);
+        counter.increment(buffer, 2, 5);
+        counter.increment("Pedro Almodóvar");
+
+        assertEquals(2, counter.get("Woody Allen"));
+        assertEquals(1, counter.get("Woody"));
+        assertEquals(1, counter.get("Pedro Almodóvar"));
+        assertEquals(0, counter.get("Martin Scorsese"));
+        assertEquals(3, counter.size());
+    }
+
+    @Test
+    void increment_keepsFirstNameInstance() {
+        DirectorCounter counter = new DirectorCounter();
+        String first = new String("Woody Allen");
+
+        counter.increment(first);
+        counter.increment(new String("Woody Allen"));
+
+        counter.forEach((director, count) -> assertSame(first, director));
+    }
+
+    @Test
+    void increment_growsBeyondInitialCapacity() {
+        DirectorCounter counter = new DirectorCounter(1);
+
+        for (int round = 0; round < 3; round++) {
+            for (int director = 0; director < 1000; director++) {
+                counter.increment("Director " + director);
+            }
+        }
+
+        assertEquals(1000, counter.size());
+        Map<String, Integer> directorMovieCount = counter.toMap();
+        assertEquals(1000, directorMovieCount.size());
+        assertTrue(directorMovieCount.values().stream().allMatch(count -> count == 3));
+    }
+
+    @Test
+    void addAll_mergesCounts() {
+        DirectorCounter left = new DirectorCounter();
+        DirectorCounter right = new DirectorCounter();
+        left.increment("Director A");
+        right.add("Director A", 2);
+        right.increment("Director B");
+
+        left.addAll(right);
+
+        assertEquals(Map.of("Director A", 3, "Director B", 1), left.toMap());
+    }
+}
@@ -0,0 +1,48 @@
+package com.directa24.main.challenge.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectorStatsCollectorTest {
+
+    @Test
+    void add_mergesPartialStatistics() {
+        // Mock data
+        DirectorStatsCollector collector = new DirectorStatsCollector();
+        collector.add("Director A", new DirectorStats(1, 2010, 2010, 90, Map.of("Drama", 1)));
+        collector.add("Director B", new DirectorStats(1, 2001, 2001, 100, Map.of("Horror", 1)));
+        collector.add("Director A", new DirectorStats(2, 2003, 2015, 110, Map.of("Comedy", 2, "Drama", 1)));
+
+        // Execute
+        Map<String, DirectorStats> stats = collector.toMap();
+
+        // Verify: genres are ordered by descending movie count, then by name
+        assertEquals(2, collector.size());
+        assertEquals(new DirectorStats(3, 2003, 2015, 200, Map.of("Comedy", 2, "Drama", 2)),
+                stats.get("Director A"));
+        assertEquals(List.of("Comedy", "Drama"), List.copyOf(stats.get("Director A").genres().keySet()));
+        assertEquals(1, stats.get("Director B").movieCount());
+    }
+
+    @Test
+    void add_withoutYearsLeavesRangeEmpty() {
+        // Mock data
+        DirectorStatsCollector collector = new DirectorStatsCollector();
+        collector.add("Director A", new DirectorStats(1, null, null, 0, Map.of()));
+        collector.add("Director A", new DirectorStats(2, null, null, 0, Map.of()));
+
+        // Execute
+        DirectorStats director = collector.toMap().get("Director A");
+
+        // Verify
+        assertEquals(3, director.movieCount());
+        assertNull(director.firstYear());
+        assertNull(director.lastYear());
+        assertEquals(0, director.totalRuntimeMinutes());
+        assertTrue(director.genres().isEmpty());
+    }
+}
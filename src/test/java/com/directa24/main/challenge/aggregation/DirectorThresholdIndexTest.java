@@ -0,0 +1,71 @@
+package com.directa24.main.challenge.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DirectorThresholdIndexTest {
+
+    private final DirectorThresholdIndex index = DirectorThresholdIndex.of(Map.of(
+            "Woody Allen", 6,
+            "Martin Scorsese", 7,
+            "Pedro Almodóvar", 4,
+            "Quentin Tarantino", 4,
+            "Clint Eastwood", 1));
+
+    @Test
+    void directorsAbove_returnsSortedDirectorsStrictlyAboveThreshold() {
+        assertEquals(Arrays.asList("Martin Scorsese", "Woody Allen"), index.directorsAbove(4));
+        assertEquals(Arrays.asList("Martin Scorsese", "Pedro Almodóvar", "Quentin Tarantino", "Woody Allen"),
+                index.directorsAbove(3));
+        assertEquals(Collections.singletonList("Martin Scorsese"), index.directorsAbove(6));
+    }
+
+    @Test
+    void directorsAbove_thresholdBelowAllCounts() {
+        List<String> all = index.directorsAbove(0);
+
+        assertEquals(Arrays.asList("Clint Eastwood", "Martin Scorsese", "Pedro Almodóvar", "Quentin Tarantino",
+                "Woody Allen"), all);
+        assertEquals(5, index.size());
+        assertThrows(UnsupportedOperationException.class, () -> all.add("Director A"));
+    }
+
+    @Test
+    void directorsAbove_thresholdExceedsAllCounts() {
+        assertEquals(Collections.emptyList(), index.directorsAbove(7));
+        assertEquals(Collections.emptyList(), DirectorThresholdIndex.of(Map.of()).directorsAbove(0));
+    }
+
+    @Test
+    void directorsAbove_pagesByName() {
+        assertEquals(Arrays.asList("Clint Eastwood", "Martin Scorsese"), index.directorsAbove(0, null, 2));
+        assertEquals(Arrays.asList("Pedro Almodóvar", "Quentin Tarantino"),
+                index.directorsAbove(0, "Martin Scorsese", 2));
+        assertEquals(Collections.singletonList("Woody Allen"), index.directorsAbove(0, "Quentin Tarantino", 2));
+        assertEquals(Collections.emptyList(), index.directorsAbove(0, "Woody Allen", 2));
+    }
+
+    @Test
+    void directorsAbove_pageResumesAfterRemovedCursor() {
+        // The cursor names a director no longer above the threshold: the page starts at the next name
+        assertEquals(Arrays.asList("Quentin Tarantino", "Woody Allen"),
+                index.directorsAbove(3, "Peter Jackson", Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> index.directorsAbove(0, null, -1));
+    }
+
+    @Test
+    void directorsAbove_filtersByNamePrefix() {
+        assertEquals(Collections.singletonList("Martin Scorsese"), index.directorsAbove(0, "Mar"));
+        assertEquals(Collections.singletonList("Pedro Almodóvar"), index.directorsAbove(3, "P"));
+        assertEquals(Collections.emptyList(), index.directorsAbove(4, "P"));
+        assertEquals(Collections.emptyList(), index.directorsAbove(0, "Zack"));
+        assertEquals(index.directorsAbove(1), index.directorsAbove(1, null));
+        assertEquals(index.directorsAbove(1), index.directorsAbove(1, ""));
+    }
+}
@@ -0,0 +1,136 @@
+package com.directa24.main.challenge.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieColumnsTest {
+
+    @Test
+    void directorStats_aggregatesYearsRuntimeAndGenres() {
+        // Mock data
+        MovieColumns columns = new MovieColumns.Builder()
+                .add("Director A", "2011", "94 min", "Comedy, Romance")
+                .add("Director A", "2003–2005", "N/A", "Drama, Comedy")
+                .add("Director A", "N/A", "120 min", "N/A")
+                .add("Director B", null, null, null)
+                .add(null, "2020", "90 min", "Drama")
+                .add("Director C", "2001", "100 min", "Horror")
+                .build();
+
+        // Execute
+        Map<String, DirectorStats> stats = columns.directorStats();
+
+        // Verify: movies without a director are not stored, unparseable values are skipped but the movie is
+        // still counted, and genres are ordered by descending movie count, then by name
+        assertEquals(5, columns.size());
+        assertEquals(3, columns.directorCount());
+        assertEquals(Map.of(
+                "Director A", new DirectorStats(3, 2003, 2011, 214, Map.of("Comedy", 2, "Drama", 1, "Romance", 1)),
+                "Director B", new DirectorStats(1, null, null, 0, Map.of()),
+                "Director C", new DirectorStats(1, 2001, 2001, 100, Map.of("Horror", 1))), stats);
+        assertEquals(List.of("Comedy", "Drama", "Romance"), List.copyOf(stats.get("Director A").genres().keySet()));
+    }
+
+    @Test
+    void directorsAbove_countsMoviesSinceYear() {
+        // Mock data
+        MovieColumns columns = new MovieColumns.Builder()
+                .add("Director A", "2005", null, null)
+                .add("Director A", "2015", null, null)
+                .add("Director B", "1999", null, null)
+                .add("Director B", "N/A", null, null)
+                .build();
+
+        // Execute & Verify: movies without a year only count when no year is given
+        assertEquals(List.of("Director A", "Director B"), columns.directorsAbove(1, 0));
+        assertEquals(List.of("Director A"), columns.directorsAbove(1, 1999));
+        assertEquals(List.of("Director A", "Director B"), columns.directorsAbove(0, 1999));
+        assertEquals(List.of("Director A"), columns.directorsAbove(0, 2010));
+        assertEquals(List.of(), columns.directorsAbove(0, 2020));
+    }
+
+    @Test
+    void addAll_remapsDictionariesAndSharesNames() {
+        // Mock data: the two pages encode their directors and genres in a different order
+        Map<String, String> names = new HashMap<>();
+        MovieColumns page1 = new MovieColumns.Builder(names)
+                .add("Director A", "2010", "90 min", "Drama")
+                .add("Director B", "2001", "100 min", "Horror")
+                .build();
+        MovieColumns page2 = new MovieColumns.Builder(names)
+                .add(new String("Director B"), "2012", "80 min", "Comedy, Horror")
+                .add("Director A", "2015", "110 min", "Drama")
+                .build();
+
+        // Execute
+        MovieColumns catalogue = new MovieColumns.Builder().addAll(page1).addAll(page2).build();
+
+        // Verify
+        assertEquals(4, catalogue.size());
+        assertEquals(2, catalogue.directorCount());
+        assertEquals(Map.of(
+                "Director A", new DirectorStats(2, 2010, 2015, 200, Map.of("Drama", 2)),
+                "Director B", new DirectorStats(2, 2001, 2012, 180, Map.of("Horror", 2, "Comedy", 1))),
+                catalogue.directorStats());
+        assertSame(names.get("Director B"), catalogue.directorsAbove(0, 0).stream()
+                .filter("Director B"::equals).findFirst().orElseThrow());
+    }
+
+    @Test
+    void directorsAbove_listsSortedDirectorsOverThreshold() {
+        // Mock data
+        MovieColumns columns = new MovieColumns.Builder()
+                .add("Director B", "2005", null, null)
+                .add("Director B", "2015", null, null)
+                .add("Director A", "2012", null, null)
+                .add("Director A", "2016", null, null)
+                .add("Director C", "2020", null, null)
+                .build();
+
+        // Execute & Verify
+        assertEquals(List.of("Director A", "Director B"), columns.directorsAbove(1, 0));
+        assertEquals(List.of("Director A"), columns.directorsAbove(1, 2010));
+        assertEquals(List.of("Director A", "Director B", "Director C"), columns.directorsAbove(0, 2010));
+    }
+
+    @Test
+    void addAll_copiesARunOfMoviesWithItsNamesOnly() {
+        // Mock data
+        MovieColumns source = new MovieColumns.Builder()
+                .add("Director A", "2010", "90 min", "Drama")
+                .add("Director B", "2001", "100 min", "Horror")
+                .add("Director C", "2012", "80 min", "Comedy")
+                .build();
+
+        // Execute
+        MovieColumns.Builder builder = new MovieColumns.Builder().addAll(source, 1, 2);
+        MovieColumns copy = builder.build();
+
+        // Verify
+        assertEquals(1, builder.size());
+        assertEquals(1, copy.directorCount());
+        assertEquals(Map.of("Director B", new DirectorStats(1, 2001, 2001, 100, Map.of("Horror", 1))),
+                copy.directorStats());
+    }
+
+    @Test
+    void empty_hasNoMovies() {
+        // Execute & Verify
+        assertEquals(0, MovieColumns.empty().size());
+        assertEquals(Map.of(), MovieColumns.empty().directorStats());
+        assertEquals(List.of(), MovieColumns.empty().directorsAbove(0, 0));
+    }
+
+    @Test
+    void leadingInt_parsesLeadingDigits() {
+        assertEquals(94, MovieColumns.leadingInt("94 min"));
+        assertEquals(2003, MovieColumns.leadingInt("2003–2005"));
+        assertEquals(0, MovieColumns.leadingInt("N/A"));
+        assertEquals(0, MovieColumns.leadingInt(null));
+    }
+}
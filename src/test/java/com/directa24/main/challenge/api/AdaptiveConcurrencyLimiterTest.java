@@ -0,0 +1,153 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.config.AdaptiveConcurrencyProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter newLimiter(int initialLimit, int maxLimit, Duration latencyThreshold) {
+        return new AdaptiveConcurrencyLimiter(
+                new AdaptiveConcurrencyProperties(initialLimit, 1, maxLimit, 0.5, latencyThreshold), meterRegistry);
+    }
+
+    private Mono<String> call(AdaptiveConcurrencyLimiter limiter, RuntimeException failure) {
+        return limiter.limit(failure == null ? Mono.just("page") : Mono.error(failure),
+                error -> error instanceof IllegalStateException);
+    }
+
+    @Test
+    void limit_growsAdditivelyOnSuccess() {
+        // Mock data
+        AdaptiveConcurrencyLimiter limiter = newLimiter(2, 4, Duration.ofSeconds(10));
+
+        // Execute: each success adds 1 / limit, 2 -> 2.5 -> 2.9 -> 3.24
+        for (int i = 0; i < 3; i++) {
+            StepVerifier.create(call(limiter, null)).expectNext("page").verifyComplete();
+        }
+
+        // Verify
+        assertEquals(3, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+        assertEquals(3, meterRegistry.get("movie.api.concurrency.limit").gauge().value());
+    }
+
+    @Test
+    void limit_neverExceedsMaxLimit() {
+        // Mock data
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4, 4, Duration.ofSeconds(10));
+
+        // Execute
+        for (int i = 0; i < 20; i++) {
+            StepVerifier.create(call(limiter, null)).expectNext("page").verifyComplete();
+        }
+
+        // Verify
+        assertEquals(4, limiter.getLimit());
+    }
+
+    @Test
+    void limit_shrinksMultiplicativelyOnOverload() {
+        // Mock data
+        AdaptiveConcurrencyLimiter limiter = newLimiter(8, 8, Duration.ofSeconds(10));
+
+        // Execute & Verify: each overload halves the limit, down to the minimum
+        StepVerifier.create(call(limiter, new IllegalStateException("429"))).verifyError(IllegalStateException.class);
+        assertEquals(4, limiter.getLimit());
+        StepVerifier.create(call(limiter, new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        StepVerifier.create(call(limiter, new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        StepVerifier.create(call(limiter, new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        assertEquals(1, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_otherErrorsLeaveLimitUnchanged() {
+        // Mock data
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4, 8, Duration.ofSeconds(10));
+
+        // Execute
+        StepVerifier.create(call(limiter, new IllegalArgumentException("404")))
+                .verifyError(IllegalArgumentException.class);
+
+        // Verify
+        assertEquals(4, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void limit_slowSuccessCountsAsOverload() {
+        // Mock data
+        AdaptiveConcurrencyLimiter limiter = newLimiter(4, 8, Duration.ofMillis(10));
+
+        // Execute
+        StepVerifier.create(limiter.limit(Mono.just("page").delayElement(Duration.ofMillis(50)), error -> false))
+                .expectNext("page")
+                .verifyComplete();
+
+        // Verify
+        assertEquals(2, limiter.getLimit());
+    }
+
+    @Test
+    void limit_callersBeyondTheLimitWaitForASlot() {
+        // Mock data: a limit of one slot, held by a pending request
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1, 1, Duration.ofSeconds(10));
+        Sinks.One<String> firstResponse = Sinks.one();
+        AtomicBoolean secondSent = new AtomicBoolean();
+
+        // Execute
+        Disposable first = limiter.limit(firstResponse.asMono(), error -> false).subscribe();
+        StepVerifier.create(limiter.limit(Mono.fromSupplier(() -> {
+                    secondSent.set(true);
+                    return "second";
+                }), error -> false))
+                .then(() -> {
+                    // Verify: the second request is only sent once the first one completes
+                    assertFalse(secondSent.get());
+                    assertEquals(1, limiter.getInFlight());
+                    firstResponse.tryEmitValue("first");
+                })
+                .expectNext("second")
+                .verifyComplete();
+        assertEquals(0, limiter.getInFlight());
+        first.dispose();
+    }
+
+    @Test
+    void limit_cancelledWaiterDoesNotHoldASlot() {
+        // Mock data: a limit of one slot, held by a pending request
+        AdaptiveConcurrencyLimiter limiter = newLimiter(1, 1, Duration.ofSeconds(10));
+        Sinks.One<String> firstResponse = Sinks.one();
+        Disposable first = limiter.limit(firstResponse.asMono(), error -> false).subscribe();
+
+        // Execute: a waiting caller gives up, then the first request completes
+        Disposable second = limiter.limit(Mono.just("second"), error -> false).subscribe();
+        second.dispose();
+        firstResponse.tryEmitValue("first");
+
+        // Verify
+        assertEquals(0, limiter.getInFlight());
+        StepVerifier.create(call(limiter, null)).expectNext("page").verifyComplete();
+        first.dispose();
+    }
+
+    @Test
+    void constructor_rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(
+                new AdaptiveConcurrencyProperties(4, 0, 8, 0.5, Duration.ofSeconds(1)), meterRegistry));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveConcurrencyLimiter(
+                new AdaptiveConcurrencyProperties(4, 1, 8, 1.0, Duration.ofSeconds(1)), meterRegistry));
+    }
+}
@@ -0,0 +1,92 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieApiCircuitBreakerTest {
+
+    private final MovieApiCircuitBreaker circuitBreaker = new MovieApiCircuitBreaker(2, Duration.ofMillis(100));
+    private final AtomicInteger calls = new AtomicInteger();
+
+    private Mono<String> call(RuntimeException failure) {
+        return circuitBreaker.protect(Mono.fromSupplier(() -> {
+            calls.incrementAndGet();
+            if (failure != null) {
+                throw failure;
+            }
+            return "page";
+        }), error -> error instanceof IllegalStateException);
+    }
+
+    @Test
+    void protect_opensAfterConsecutiveFailures() {
+        // Execute
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        assertEquals(MovieApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+
+        // Verify: the third call fails fast without reaching the movie API
+        assertEquals(MovieApiCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        StepVerifier.create(call(null)).verifyError(UpstreamUnavailableException.class);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void protect_successResetsFailureCount() {
+        // Execute
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        StepVerifier.create(call(null)).expectNext("page").verifyComplete();
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+
+        // Verify
+        assertEquals(MovieApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void protect_errorsNotCountedAsFailuresKeepCircuitClosed() {
+        // Execute
+        StepVerifier.create(call(new IllegalArgumentException("404"))).verifyError(IllegalArgumentException.class);
+        StepVerifier.create(call(new IllegalArgumentException("404"))).verifyError(IllegalArgumentException.class);
+
+        // Verify
+        assertEquals(MovieApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+    }
+
+    @Test
+    void protect_probeAfterOpenDurationClosesCircuit() throws InterruptedException {
+        // Mock behavior: open the circuit
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+
+        // Execute
+        Thread.sleep(150);
+        StepVerifier.create(call(null)).expectNext("page").verifyComplete();
+
+        // Verify
+        assertEquals(MovieApiCircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(3, calls.get());
+    }
+
+    @Test
+    void protect_failedProbeReopensCircuit() throws InterruptedException {
+        // Mock behavior: open the circuit
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+
+        // Execute
+        Thread.sleep(150);
+        StepVerifier.create(call(new IllegalStateException("503"))).verifyError(IllegalStateException.class);
+
+        // Verify: the failed probe opens the circuit for another period
+        assertEquals(MovieApiCircuitBreaker.State.OPEN, circuitBreaker.getState());
+        StepVerifier.create(call(null)).verifyError(UpstreamUnavailableException.class);
+        assertEquals(3, calls.get());
+    }
+}
@@ -0,0 +1,115 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.config.AdaptiveConcurrencyProperties;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import com.directa24.main.challenge.config.PageRetryProperties;
+import com.directa24.main.challenge.config.RateLimitProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieApiClientTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicReference<String> body = new AtomicReference<>();
+    private final MovieApiClient movieApiClient = newClient();
+
+    private MovieApiClient newClient() {
+        WebClient webClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(chunked(body.get().getBytes(StandardCharsets.UTF_8)))
+                        .build()))
+                .build();
+        return new MovieApiClient(webClient, HttpTransportProperties.defaults(), PageRetryProperties.defaults(),
+                new MovieApiCircuitBreaker(5, Duration.ofSeconds(30)), new MovieApiMetrics(meterRegistry),
+                new MovieApiRateLimiter(RateLimitProperties.defaults()),
+                new AdaptiveConcurrencyLimiter(AdaptiveConcurrencyProperties.defaults(), meterRegistry),
+                8, new MoviePageDecoder());
+    }
+
+    /**
+     * Splits the body into small buffers, so the data array spans several of them.
+     */
+    private static Flux<DataBuffer> chunked(byte[] bytes) {
+        return Flux.range(0, (bytes.length + 6) / 7)
+                .map(chunk -> DefaultDataBufferFactory.sharedInstance.wrap(
+                        Arrays.copyOfRange(bytes, chunk * 7, Math.min(bytes.length, chunk * 7 + 7))));
+    }
+
+    private static String page(int perPage, int total, int totalPages, String directors) {
+        return "{\"page\":1,\"per_page\":" + perPage + ",\"total\":" + total + ",\"total_pages\":" + totalPages
+                + ",\"data\":[" + directors + "]}";
+    }
+
+    @Test
+    void fetchPage_reusesPageWhoseMoviesAreUnchangedWhenTheCatalogueGrows() {
+        // Mock data
+        body.set(page(2, 4, 2, "{\"Director\":\"Director A\"},{\"Director\":\"Director B\"}"));
+        FetchedPage first = movieApiClient.fetchPage(1, null);
+
+        // Mock behavior: a fifth movie is appended on a new page, so total and total_pages change on page 1
+        body.set(page(2, 5, 3, "{\"Director\":\"Director A\"},{\"Director\":\"Director B\"}"));
+
+        // Execute
+        FetchedPage second = movieApiClient.fetchPage(1, first.fingerprint());
+
+        // Verify: page 1 is not decoded again, and its fingerprint reports the new page count
+        assertTrue(first.modified());
+        assertFalse(second.modified());
+        assertEquals(first.fingerprint().contentHash(), second.fingerprint().contentHash());
+        assertEquals(3, second.fingerprint().totalPages());
+        assertEquals(1.0, meterRegistry.get("movie.api.pages.unchanged").counter().count());
+    }
+
+    @Test
+    void fetchPage_decodesPageWhoseMoviesChanged() {
+        // Mock data
+        body.set(page(2, 4, 2, "{\"Director\":\"Director A\"},{\"Director\":\"Director B\"}"));
+        FetchedPage first = movieApiClient.fetchPage(1, null);
+
+        // Mock behavior
+        body.set(page(2, 4, 2, "{\"Director\":\"Director A\"},{\"Director\":\"Director C\"}"));
+
+        // Execute
+        FetchedPage second = movieApiClient.fetchPage(1, first.fingerprint());
+
+        // Verify
+        assertTrue(second.modified());
+        assertEquals(List.of("Director A", "Director C"), second.movies().directorsAbove(0, 0));
+        assertNotEquals(first.fingerprint().contentHash(), second.fingerprint().contentHash());
+    }
+
+    @Test
+    void fetchPage_decodesPageAgainWhenItsPageSizeChanged() {
+        // Mock data
+        body.set(page(2, 4, 2, "{\"Director\":\"Director A\"},{\"Director\":\"Director B\"}"));
+        FetchedPage first = movieApiClient.fetchPage(1, null);
+
+        // Mock behavior: same movies, but pages now hold 3 movies
+        body.set(page(3, 4, 2, "{\"Director\":\"Director A\"},{\"Director\":\"Director B\"}"));
+
+        // Execute
+        FetchedPage second = movieApiClient.fetchPage(1, first.fingerprint());
+
+        // Verify
+        assertTrue(second.modified());
+        assertEquals(3, second.fingerprint().perPage());
+    }
+}
@@ -0,0 +1,71 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.config.RateLimitProperties;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieApiRateLimiterTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Test
+    void reserve_servesBurstThenPacesAtTheRate() {
+        // Mock data: 10 requests per second, bursts of 2
+        MovieApiRateLimiter rateLimiter = new MovieApiRateLimiter(new RateLimitProperties(10, 2));
+        long now = System.nanoTime();
+
+        // Execute & Verify: the burst goes out at once, then each request waits for one more token
+        assertEquals(0, rateLimiter.reserve(now));
+        assertEquals(0, rateLimiter.reserve(now));
+        assertEquals(100 * MILLIS, rateLimiter.reserve(now));
+        assertEquals(200 * MILLIS, rateLimiter.reserve(now));
+    }
+
+    @Test
+    void reserve_refillsAfterIdlePeriodUpToBurst() {
+        // Mock data
+        MovieApiRateLimiter rateLimiter = new MovieApiRateLimiter(new RateLimitProperties(10, 2));
+        long now = System.nanoTime();
+        rateLimiter.reserve(now);
+        rateLimiter.reserve(now);
+
+        // Execute: a long idle period refills no more than the burst
+        long later = now + 10_000 * MILLIS;
+
+        // Verify
+        assertEquals(0, rateLimiter.reserve(later));
+        assertEquals(0, rateLimiter.reserve(later));
+        assertEquals(100 * MILLIS, rateLimiter.reserve(later));
+    }
+
+    @Test
+    void throttle_withoutRateLeavesCallUntouched() {
+        // Mock data
+        MovieApiRateLimiter rateLimiter = new MovieApiRateLimiter(RateLimitProperties.defaults());
+        Mono<String> call = Mono.just("page");
+
+        // Execute & Verify
+        assertSame(call, rateLimiter.throttle(call));
+    }
+
+    @Test
+    void throttle_delaysCallBeyondTheBurst() {
+        // Mock data: one request per 100 ms, no burst beyond one
+        MovieApiRateLimiter rateLimiter = new MovieApiRateLimiter(new RateLimitProperties(10, 1));
+
+        // Execute & Verify
+        StepVerifier.create(rateLimiter.throttle(Mono.just("first"))).expectNext("first").verifyComplete();
+        long start = System.nanoTime();
+        StepVerifier.create(rateLimiter.throttle(Mono.just("second"))).expectNext("second").verifyComplete();
+        assertTrue(System.nanoTime() - start >= 50 * MILLIS);
+    }
+
+    @Test
+    void constructor_rejectsInvalidSettings() {
+        assertThrows(IllegalArgumentException.class, () -> new MovieApiRateLimiter(new RateLimitProperties(-1, 1)));
+        assertThrows(IllegalArgumentException.class, () -> new MovieApiRateLimiter(new RateLimitProperties(10, 0)));
+    }
+}
@@ -0,0 +1,106 @@
+package com.directa24.main.challenge.api;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.fasterxml.jackson.core.JsonParseException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoviePageDecoderTest {
+
+    private final MoviePageDecoder decoder = new MoviePageDecoder();
+
+    @Test
+    void decode_extractsDirectorsFromSamplePage() throws IOException {
+        List<String> directors = new ArrayList<>();
+
+        MoviePageDecoder.PageSummary summary;
+        try (InputStream body = Files.newInputStream(Path.of("test_data.json"))) {
+            summary = decoder.decode(body, directors::add);
+        }
+
+        assertEquals(3, summary.totalPages());
+        assertEquals(11, summary.movieCount());
+        assertTrue(summary.hasData());
+        assertEquals(11, directors.size());
+        assertEquals("Woody Allen", directors.get(0));
+        assertEquals(3, directors.stream().filter("Woody Allen"::equals).count());
+    }
+
+    @Test
+    void decode_countsDirectorsIntoCounter() throws IOException {
+        DirectorCounter counter = new DirectorCounter();
+
+        for (String file : Arrays.asList("test_data.json", "test_data_2.json", "test_data_3.json")) {
+            try (InputStream body = Files.newInputStream(Path.of(file))) {
+                decoder.decode(body, counter);
+            }
+        }
+
+        assertEquals(8, counter.get("Woody Allen"));
+        assertEquals(5, counter.get("Martin Scorsese"));
+        assertEquals(4, counter.get("Pedro Almodóvar"));
+        assertEquals(7, counter.size());
+    }
+
+    @Test
+    void decodeColumns_skipsNestedValuesAndMissingDirectors() throws IOException {
+        String json = """
+                {"data": [
+                    {"Title": "A", "Ratings": [{"Source": "x"}], "Director": "Director A"},
+                    {"Title": "B", "Director": null},
+                    {"Director": "Director B", "Meta": {"Director": "ignored"}}
+                ], "total_pages": 7}
+                """;
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+
+        MoviePageDecoder.PageSummary summary = decoder.decode(toStream(json), movies);
+
+        assertEquals(7, summary.totalPages());
+        assertEquals(3, summary.movieCount());
+        assertEquals(List.of("Director A", "Director B"), movies.build().directorsAbove(0, 0));
+    }
+
+    @Test
+    void decodeColumns_missingDataHasNoData() throws IOException {
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+
+        MoviePageDecoder.PageSummary summary = decoder.decode(toStream("{\"total_pages\": 1}"), movies);
+
+        assertFalse(summary.hasData());
+        assertEquals(1, summary.totalPages());
+        assertEquals(0, movies.size());
+    }
+
+    @Test
+    void scan_locatesDataArrayAndPageFields() throws IOException {
+        String json = "{\"per_page\": 2, \"total\": 3, \"data\": [{\"Director\": \"A\"}], \"total_pages\": 2}";
+
+        MoviePageDecoder.PageLayout layout = decoder.scan(toStream(json));
+
+        assertEquals(2, layout.perPage());
+        assertEquals(2, layout.totalPages());
+        assertEquals("[{\"Director\": \"A\"}]", json.substring((int) layout.dataFrom(), (int) layout.dataTo()));
+    }
+
+    @Test
+    void decode_dataNotAnArray() {
+        assertThrows(JsonParseException.class,
+                () -> decoder.decode(toStream("{\"data\": {\"Director\": \"Director A\"}}"), director -> { }));
+    }
+
+    private static InputStream toStream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
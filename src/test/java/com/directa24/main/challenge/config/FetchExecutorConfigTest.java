@@ -0,0 +1,64 @@
+package com.directa24.main.challenge.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FetchExecutorConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(FetchExecutorConfig.class)
+            .withPropertyValues("api.fetch.concurrency=4");
+
+    @Test
+    void movieFetchExecutor_platformThreadsByDefault() {
+        contextRunner.run(context ->
+                assertInstanceOf(ExecutorService.class, context.getBean("movieFetchExecutor", Executor.class)));
+    }
+
+    @Test
+    void movieFetchExecutor_rejectsInvalidConcurrency() {
+        contextRunner.withPropertyValues("api.fetch.concurrency=0")
+                .run(context -> assertNotNull(context.getStartupFailure()));
+    }
+
+    @Test
+    void fetchProperties_boundFromClasspathWithTheApplicationValidation() {
+        // Execute & Verify: Main reads the same setting, and rejects the same values, as the executors
+        assertEquals(8, FetchProperties.fromClasspath().concurrency());
+        assertThrows(IllegalArgumentException.class, () -> new FetchProperties(0));
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void movieFetchExecutor_virtualThreadsIgnoredBeforeJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context ->
+                assertInstanceOf(ExecutorService.class, context.getBean("movieFetchExecutor", Executor.class)));
+    }
+
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void movieFetchExecutor_virtualThreadsOnJava21() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            Executor executor = context.getBean("movieFetchExecutor", Executor.class);
+            SimpleAsyncTaskExecutor virtualExecutor = assertInstanceOf(SimpleAsyncTaskExecutor.class, executor);
+            assertEquals(4, virtualExecutor.getConcurrencyLimit());
+
+            // Execute: pages are fetched on virtual threads
+            boolean virtual = CompletableFuture
+                    .supplyAsync(() -> Thread.currentThread().toString().startsWith("VirtualThread"), executor)
+                    .join();
+
+            // Verify
+            assertTrue(virtual);
+        });
+    }
+}
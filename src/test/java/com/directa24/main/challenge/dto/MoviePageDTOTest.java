@@ -0,0 +1,46 @@
+package com.directa24.main.challenge.dto;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoviePageDTOTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void readValue_bindsSamplePage() throws IOException {
+        // Execute
+        MoviePageDTO page = objectMapper.readValue(Path.of("test_data.json").toFile(), MoviePageDTO.class);
+
+        // Verify
+        assertEquals(3, page.getTotalPages());
+        assertEquals(11, page.getData().size());
+        MovieDTO movie = page.getData().get(0);
+        assertEquals("Woody Allen", movie.getDirector());
+        assertEquals("2011", movie.getYear());
+        assertEquals("94 min", movie.getRuntime());
+        assertEquals("Comedy, Fantasy, Romance", movie.getGenre());
+    }
+
+    @Test
+    void readValue_leavesMissingFieldsNull() throws IOException {
+        // Mock data
+        String json = "{\"total_pages\":1,\"data\":[{\"Director\":\"Wes Anderson\"}]}";
+
+        // Execute
+        MoviePageDTO page = objectMapper.readValue(json, MoviePageDTO.class);
+
+        // Verify
+        MovieDTO movie = page.getData().get(0);
+        assertEquals("Wes Anderson", movie.getDirector());
+        assertNull(movie.getYear());
+        assertNull(movie.getRuntime());
+        assertNull(movie.getGenre());
+    }
+}
@@ -0,0 +1,86 @@
+package com.directa24.main.challenge.loader;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageDumpLoaderTest {
+
+    @TempDir
+    Path dumpDirectory;
+
+    @Test
+    void loadDirectorStats_fromPageDumpDirectory() throws IOException {
+        for (String file : new String[]{"test_data.json", "test_data_2.json", "test_data_3.json"}) {
+            Files.copy(Path.of(file), dumpDirectory.resolve(file));
+        }
+        Files.writeString(dumpDirectory.resolve("notes.txt"), "not a dump");
+
+        Map<String, DirectorStats> directorStats = newLoader(dumpDirectory).loadDirectorStats();
+
+        assertEquals(7, directorStats.size());
+        assertEquals(5, directorStats.get("Martin Scorsese").movieCount());
+        assertEquals(1, directorStats.get("Juan José Campanella").movieCount());
+
+        DirectorStats woodyAllen = directorStats.get("Woody Allen");
+        assertEquals(8, woodyAllen.movieCount());
+        assertEquals(2010, woodyAllen.firstYear());
+        assertEquals(2016, woodyAllen.lastYear());
+        assertEquals(784, woodyAllen.totalRuntimeMinutes());
+        assertEquals(List.of("Comedy", "Romance", "Drama", "Fantasy", "Crime", "Music"),
+                List.copyOf(woodyAllen.genres().keySet()));
+        assertEquals(8, woodyAllen.genres().get("Comedy"));
+    }
+
+    @Test
+    void loadDirectorStats_fromNdjsonFile() throws IOException {
+        Path dump = dumpDirectory.resolve("movies.ndjson");
+        Files.writeString(dump, """
+                {"Title": "Midnight in Paris", "Director": "Woody Allen"}
+                {"Title": "Silence", "Director": "Martin Scorsese"}
+                {"Title": "Blue Jasmine", "Director": "Woody Allen"}
+                """);
+
+        Map<String, DirectorStats> directorStats = newLoader(dump).loadDirectorStats();
+
+        assertEquals(2, directorStats.size());
+        assertEquals(2, directorStats.get("Woody Allen").movieCount());
+        assertEquals(1, directorStats.get("Martin Scorsese").movieCount());
+        assertNull(directorStats.get("Martin Scorsese").firstYear());
+    }
+
+    @Test
+    void loadDirectorStats_invalidDump() throws IOException {
+        Path dump = dumpDirectory.resolve("broken.json");
+        Files.writeString(dump, "{\"data\": 42}");
+
+        assertThrows(UncheckedIOException.class, () -> newLoader(dump).loadDirectorStats());
+    }
+
+    @Test
+    void mappedFileInputStream_readsAcrossWindows() throws IOException {
+        Path source = Path.of("test_data.json");
+
+        byte[] read;
+        try (InputStream in = new MappedFileInputStream(source, 7)) {
+            read = in.readAllBytes();
+        }
+
+        assertArrayEquals(Files.readAllBytes(source), read);
+    }
+
+    private static PageDumpLoader newLoader(Path dumpPath) {
+        return new PageDumpLoader(new MoviePageDecoder(), dumpPath.toString());
+    }
+}
@@ -0,0 +1,104 @@
+package com.directa24.main.challenge.loader;
+
+import com.directa24.main.challenge.aggregation.DirectorCounter;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PagePipelineTest {
+
+    private final MoviePageDecoder decoder = new MoviePageDecoder();
+
+    private static byte[] page(int pageNumber) {
+        String director = pageNumber % 2 == 0 ? "Woody Allen" : "Martin Scorsese";
+        return ("{\"page\": " + pageNumber + ", \"total_pages\": 20, \"data\": [{\"Title\": \"Movie\", "
+                + "\"Director\": \"" + director + "\"}]}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void countPage(int pageNumber, byte[] body, DirectorCounter counter) throws IOException {
+        decoder.decode(new ByteArrayInputStream(body), counter);
+    }
+
+    @Test
+    void count_mergesThePagesCountedByEveryParser() {
+        // Mock data
+        DirectorCounter counter = new DirectorCounter();
+        counter.increment("Woody Allen");
+
+        // Execute
+        new PagePipeline(PagePipelineTest::page, this::countPage, 3, 2, 2).count(2, 20, counter);
+
+        // Verify: pages 2 to 20 hold 10 even and 9 odd pages
+        assertEquals(Map.of("Woody Allen", 11, "Martin Scorsese", 9), counter.toMap());
+    }
+
+    @Test
+    void count_slowParsersHoldBackTheFetchers() {
+        // Mock data
+        AtomicInteger waiting = new AtomicInteger();
+        AtomicInteger maxWaiting = new AtomicInteger();
+        PagePipeline.PageFetcher fetcher = pageNumber -> {
+            maxWaiting.accumulateAndGet(waiting.incrementAndGet(), Math::max);
+            return page(pageNumber);
+        };
+        PagePipeline.PageCounter slowCounter = (pageNumber, body, counter) -> {
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            waiting.decrementAndGet();
+            countPage(pageNumber, body, counter);
+        };
+        DirectorCounter counter = new DirectorCounter();
+
+        // Execute
+        new PagePipeline(fetcher, slowCounter, 4, 1, 2).count(1, 40, counter);
+
+        // Verify: at most the queue, one page per fetcher and the page being parsed are held at once
+        assertEquals(40, counter.get("Woody Allen") + counter.get("Martin Scorsese"));
+        assertTrue(maxWaiting.get() <= 2 + 4 + 1, "Held " + maxWaiting.get() + " pages at once");
+    }
+
+    @Test
+    void count_rethrowsTheFirstFailure() {
+        // Mock data
+        AtomicInteger fetched = new AtomicInteger();
+        PagePipeline.PageFetcher failingFetcher = pageNumber -> {
+            fetched.incrementAndGet();
+            if (pageNumber == 5) {
+                throw new IOException("Page 5 unavailable");
+            }
+            return page(pageNumber);
+        };
+        DirectorCounter counter = new DirectorCounter();
+
+        // Execute
+        UncheckedIOException exception = assertThrows(UncheckedIOException.class,
+                () -> new PagePipeline(failingFetcher, this::countPage, 1, 2, 2).count(1, 100, counter));
+
+        // Verify: no page is started after the failure and nothing is merged
+        assertEquals("Page 5 unavailable", exception.getCause().getMessage());
+        assertEquals(5, fetched.get());
+        assertEquals(0, counter.size());
+    }
+
+    @Test
+    void count_propagatesParserFailures() {
+        // Mock data
+        PagePipeline.PageFetcher fetcher = pageNumber -> pageNumber == 3
+                ? "not json".getBytes(StandardCharsets.UTF_8) : page(pageNumber);
+
+        // Execute & Verify
+        assertThrows(UncheckedIOException.class,
+                () -> new PagePipeline(fetcher, this::countPage, 2, 2, 2).count(1, 10, new DirectorCounter()));
+    }
+}
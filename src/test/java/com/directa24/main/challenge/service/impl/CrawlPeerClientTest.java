@@ -0,0 +1,148 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.config.HttpTransportProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBufferLimitException;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.util.unit.DataSize;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CrawlPeerClientTest {
+
+    private final AtomicReference<URI> requestedUri = new AtomicReference<>();
+    private final AtomicReference<String> requestedToken = new AtomicReference<>();
+
+    private CrawlPeerClient clientAnswering(byte[] body) {
+        return clientAnswering(body, HttpTransportProperties.defaults());
+    }
+
+    private CrawlPeerClient clientAnswering(byte[] body, HttpTransportProperties transport) {
+        WebClient.Builder webClientBuilder = WebClient.builder().exchangeFunction((ClientRequest request) -> {
+            requestedUri.set(request.url());
+            requestedToken.set(request.headers().getFirst(CrawlPeerClient.TOKEN_HEADER));
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_OCTET_STREAM_VALUE)
+                    .body(Flux.just(DefaultDataBufferFactory.sharedInstance.wrap(body)))
+                    .build());
+        });
+        return new CrawlPeerClient(webClientBuilder, transport,
+                List.of(" http://node-2:8080/ ", "", "http://node-3:8080"), "s3cret");
+    }
+
+    @Test
+    void getPeers_normalisesConfiguredUrls() {
+        // Execute & Verify
+        assertEquals(List.of("http://node-2:8080", "http://node-3:8080"), clientAnswering(new byte[0]).getPeers());
+    }
+
+    @Test
+    void fetchPartial_decodesStatisticsEncodedByPeer() {
+        // Mock data
+        Map<String, DirectorStats> partial = Map.of(
+                "Director A", new DirectorStats(2, 2001, 2005, 210, Map.of("Drama", 2)),
+                "Director B", new DirectorStats(1, null, null, 0, Map.of()));
+
+        // Execute & Verify
+        StepVerifier.create(clientAnswering(CrawlPeerClient.encode(partial))
+                        .fetchPartial("http://node-2:8080", 51, 100))
+                .expectNext(partial)
+                .verifyComplete();
+        assertEquals(URI.create("http://node-2:8080" + CrawlPeerClient.PARTIAL_PATH + "?from=51&to=100"),
+                requestedUri.get());
+        assertEquals("s3cret", requestedToken.get());
+    }
+
+    @Test
+    void fetchPartial_rejectsAnswerLargerThanItsPages() {
+        // Mock data: a 2-page range may not answer with more than 2 bytes
+        byte[] body = CrawlPeerClient.encode(Map.of("Director A", new DirectorStats(1, 2001, 2001, 90, Map.of())));
+        HttpTransportProperties transport = new HttpTransportProperties(50, Duration.ofSeconds(30),
+                Duration.ofSeconds(5), Duration.ofSeconds(10), true, DataSize.ofBytes(1), false);
+
+        // Execute & Verify
+        StepVerifier.create(clientAnswering(body, transport).fetchPartial("http://node-2:8080", 1, 2))
+                .verifyError(DataBufferLimitException.class);
+    }
+
+    @Test
+    void isAuthorized_requiresTheConfiguredToken() {
+        // Mock data
+        CrawlPeerClient client = clientAnswering(new byte[0]);
+        CrawlPeerClient unconfigured = new CrawlPeerClient(WebClient.builder(), HttpTransportProperties.defaults(),
+                List.of(), "");
+
+        // Execute & Verify: without a configured token, nothing is accepted
+        assertTrue(client.isAuthorized("s3cret"));
+        assertFalse(client.isAuthorized("wrong"));
+        assertFalse(client.isAuthorized(null));
+        assertFalse(unconfigured.isAuthorized(""));
+        assertFalse(unconfigured.isAuthorized(null));
+    }
+
+    @Test
+    void fetchPartial_rejectsCorruptedBody() {
+        // Mock data
+        byte[] body = CrawlPeerClient.encode(Map.of("Director A", new DirectorStats(1, 2001, 2001, 90, Map.of())));
+        byte[] corrupted = Arrays.copyOf(body, body.length);
+        corrupted[20] ^= 1;
+
+        // Execute & Verify
+        StepVerifier.create(clientAnswering(corrupted).fetchPartial("http://node-2:8080", 1, 10))
+                .verifyError(UncheckedIOException.class);
+    }
+
+    /**
+     * Encodes a partial answer header ("D24S", version 1, createdAt, totalMovies) followed by the given body
+     * and a valid checksum, so that only the lengths inside the body are wrong.
+     */
+    private static byte[] signedAnswer(long totalMovies, ByteBuffer body) {
+        ByteBuffer contents = ByteBuffer.allocate(2 * Integer.BYTES + 2 * Long.BYTES + body.remaining())
+                .putInt(0x44323453).putInt(1).putLong(0).putLong(totalMovies).put(body);
+        CRC32 checksum = new CRC32();
+        checksum.update(contents.array());
+        return ByteBuffer.allocate(contents.capacity() + Long.BYTES)
+                .put(contents.array()).putLong(checksum.getValue()).array();
+    }
+
+    @Test
+    void fetchPartial_rejectsLengthsBeyondTheBody() {
+        // Mock data: a genre count larger than the body, a negative name length, and a genre index out of range
+        byte[] hugeCount = signedAnswer(0, ByteBuffer.allocate(4).putInt(Integer.MAX_VALUE).flip());
+        byte[] negativeLength = signedAnswer(0, ByteBuffer.allocate(8).putInt(1).putInt(-1).flip());
+        byte[] unknownGenre = signedAnswer(1, ByteBuffer.allocate(45)
+                .putInt(0).putInt(1)
+                .putInt(1).put((byte) 'A').putInt(1).putInt(0).putInt(0).putLong(0)
+                .putInt(1).putInt(5).putInt(1).flip());
+
+        // Execute & Verify
+        for (byte[] body : List.of(hugeCount, negativeLength, unknownGenre)) {
+            StepVerifier.create(clientAnswering(body).fetchPartial("http://node-2:8080", 1, 10))
+                    .expectErrorSatisfies(error -> {
+                        assertInstanceOf(UncheckedIOException.class, error);
+                        assertTrue(error.getCause().getMessage().startsWith("Malformed director snapshot"));
+                    })
+                    .verify();
+        }
+    }
+}
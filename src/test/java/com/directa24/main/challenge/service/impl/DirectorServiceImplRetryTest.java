@@ -1,82 +1,199 @@
 package com.directa24.main.challenge.service.impl;
 
-import com.directa24.main.challenge.api.MovieApiClient;
-import com.directa24.main.challenge.dto.MovieDTO;
-import com.directa24.main.challenge.dto.MoviePageDTO;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
-import org.springframework.test.context.bean.override.mockito.MockitoBean;
-
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.convention.TestBean;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import org.springframework.web.util.UriComponentsBuilder;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.mockito.Mockito.*;
 
-@SpringBootTest
+@SpringBootTest(properties = {"api.retry.min-backoff=10ms", "api.retry.max-backoff=50ms"})
 public class DirectorServiceImplRetryTest {
 
-    @MockitoBean
-    private MovieApiClient movieApiClient;
+    private static final ScriptedMovieApi MOVIE_API = new ScriptedMovieApi();
+
+    @TestBean(name = "movieApiWebClient", methodName = "scriptedWebClient")
+    private WebClient movieApiWebClient;
 
     @Autowired
     private DirectorServiceImpl directorService;
 
-    @Test
-    void getDirectors_retryMechanism_successAfterRetry() {
-        // Mock data
-        MovieDTO movie1 = new MovieDTO("Director A"); // Appears twice
-        MovieDTO movie2 = new MovieDTO("Director B"); // Appears once
-        MovieDTO movie3 = new MovieDTO("Director A");
+    @Autowired
+    private DirectorCountCache directorCountCache;
 
-        MoviePageDTO page1 = new MoviePageDTO(Arrays.asList(movie1, movie2, movie3), 1);
+    @Autowired
+    private MeterRegistry meterRegistry;
 
-        // Mock behavior: First attempt fails, second attempt succeeds
-        when(movieApiClient.fetchMovies(1))
-                .thenThrow(new RuntimeException("Temporary error"))
-                .thenReturn(page1);
+    static WebClient scriptedWebClient() {
+        return WebClient.builder()
+                .baseUrl("http://movies.test/api")
+                .exchangeFunction(MOVIE_API)
+                .build();
+    }
+
+    @BeforeEach
+    void setUp() {
+        directorCountCache.invalidate();
+        MOVIE_API.reset();
+        // Director A appears twice, Director B and Director C once
+        MOVIE_API.page(1, 3, "Director A", "Director B");
+        MOVIE_API.page(2, 3, "Director A");
+        MOVIE_API.page(3, 3, "Director C");
+    }
+
+    @Test
+    void getDirectors_retryMechanism_successAfterRetry() {
+        // Mock behavior: page 2 fails once, then succeeds
+        MOVIE_API.failNext(2, HttpStatus.SERVICE_UNAVAILABLE);
+        double retriesBefore = meterRegistry.get("movie.api.page.retries").counter().count();
 
         // Execute
-        List<String> result = directorService.getDirectors(1);
+        List<String> result = directorService.getDirectors(1).directors();
 
-        // Verify: Director A meets the threshold (2 movies > threshold 1)
+        // Verify: only page 2 was fetched again, the other pages were not re-crawled
         assertEquals(Collections.singletonList("Director A"), result);
-        verify(movieApiClient, times(2)).fetchMovies(1); // Ensure two calls (retry happened)
+        assertEquals(Map.of(1, 1, 2, 2, 3, 1), MOVIE_API.requestsPerPage());
+        assertEquals(retriesBefore + 1, meterRegistry.get("movie.api.page.retries").counter().count());
     }
 
     @Test
     void getDirectors_retryMechanism_failAfterMaxAttempts() {
-        // Mock behavior: All attempts fail
-        when(movieApiClient.fetchMovies(1)).thenThrow(new RuntimeException("Permanent error"));
+        // Mock behavior: page 2 fails on every attempt
+        MOVIE_API.failNext(2, HttpStatus.SERVICE_UNAVAILABLE, HttpStatus.BAD_GATEWAY, HttpStatus.SERVICE_UNAVAILABLE);
 
         // Execute & Assert
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> directorService.getDirectors(1));
-        assertEquals("Permanent error", exception.getMessage());
+        WebClientResponseException exception =
+                assertThrows(WebClientResponseException.class, () -> directorService.getDirectors(1));
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getStatusCode());
+
+        // Verify that page 2 was attempted 3 times
+        assertEquals(3, MOVIE_API.requestsPerPage().get(2));
+    }
 
-        // Verify that the retry mechanism invoked the method 3 times
-        verify(movieApiClient, times(3)).fetchMovies(1); // Max retries reached
+    @Test
+    void getDirectors_retryMechanism_clientErrorNotRetried() {
+        // Mock behavior: page 2 is not found
+        MOVIE_API.failNext(2, HttpStatus.NOT_FOUND);
+
+        // Execute & Assert
+        assertThrows(WebClientResponseException.NotFound.class, () -> directorService.getDirectors(1));
+        assertEquals(1, MOVIE_API.requestsPerPage().get(2));
     }
 
     @Test
     void getDirectors_noRetryNeeded() {
-        // Mock data
-        MovieDTO movie1 = new MovieDTO("Director A");
-        MovieDTO movie2 = new MovieDTO("Director A");
-        MovieDTO movie3 = new MovieDTO("Director B");
+        // Execute
+        List<String> result = directorService.getDirectors(0).directors();
 
-        MoviePageDTO page1 = new MoviePageDTO(Arrays.asList(movie1, movie2, movie3), 1);
+        // Verify: every page is fetched exactly once
+        assertEquals(Arrays.asList("Director A", "Director B", "Director C"), result);
+        assertEquals(Map.of(1, 1, 2, 1, 3, 1), MOVIE_API.requestsPerPage());
+    }
 
-        // Mock behavior: Success on the first call
-        when(movieApiClient.fetchMovies(1)).thenReturn(page1);
+    @Test
+    void getDirectors_refreshSkipsUnchangedPages() {
+        // Mock behavior: the first crawl learns the entity tag of every page, then page 3 changes
+        directorService.getDirectors(0);
+        MOVIE_API.page(3, 3, "Director A");
+        directorCountCache.invalidate();
+        MOVIE_API.resetRequests();
+        double unchangedBefore = meterRegistry.get("movie.api.pages.unchanged").counter().count();
 
         // Execute
-        List<String> result = directorService.getDirectors(1);
+        List<String> result = directorService.getDirectors(2).directors();
 
-        // Verify: Director A meets the threshold (2 movies > threshold 1)
+        // Verify: pages 1 and 2 are answered 304 and their previous statistics reused
         assertEquals(Collections.singletonList("Director A"), result);
-        verify(movieApiClient, times(1)).fetchMovies(1); // Ensure only one call
+        assertEquals(2, MOVIE_API.notModifiedResponses());
+        assertEquals(unchangedBefore + 2, meterRegistry.get("movie.api.pages.unchanged").counter().count());
+    }
+
+    /**
+     * Movie API stand-in serving scripted pages, optionally failing the next requests for a page.
+     * Pages carry an entity tag and are answered {@code 304 Not Modified} to a matching {@code If-None-Match}.
+     */
+    private static class ScriptedMovieApi implements ExchangeFunction {
+
+        private final Map<Integer, String> pages = new ConcurrentHashMap<>();
+        private final Map<Integer, Deque<HttpStatus>> failures = new ConcurrentHashMap<>();
+        private final Map<Integer, AtomicInteger> requests = new ConcurrentHashMap<>();
+        private final AtomicInteger notModified = new AtomicInteger();
+
+        void reset() {
+            pages.clear();
+            failures.clear();
+            resetRequests();
+        }
+
+        void resetRequests() {
+            requests.clear();
+            notModified.set(0);
+        }
+
+        int notModifiedResponses() {
+            return notModified.get();
+        }
+
+        void page(int page, int totalPages, String... directors) {
+            String data = Arrays.stream(directors)
+                    .map(director -> "{\"Title\": \"Movie\", \"Director\": \"" + director + "\"}")
+                    .collect(Collectors.joining(","));
+            pages.put(page, "{\"page\": " + page + ", \"total_pages\": " + totalPages + ", \"data\": [" + data + "]}");
+        }
+
+        void failNext(int page, HttpStatus... statuses) {
+            failures.put(page, new ArrayDeque<>(Arrays.asList(statuses)));
+        }
+
+        Map<Integer, Integer> requestsPerPage() {
+            return requests.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().get()));
+        }
+
+        @Override
+        public Mono<ClientResponse> exchange(ClientRequest request) {
+            int page = Integer.parseInt(UriComponentsBuilder.fromUri(request.url()).build()
+                    .getQueryParams().getFirst("page"));
+            requests.computeIfAbsent(page, key -> new AtomicInteger()).incrementAndGet();
+
+            HttpStatus failure = failures.getOrDefault(page, new ArrayDeque<>()).poll();
+            if (failure != null) {
+                return Mono.just(ClientResponse.create(failure).build());
+            }
+            String body = pages.get(page);
+            String etag = "\"" + Integer.toHexString(body.hashCode()) + "\"";
+            if (request.headers().getIfNoneMatch().contains(etag)) {
+                notModified.incrementAndGet();
+                return Mono.just(ClientResponse.create(HttpStatus.NOT_MODIFIED).header(HttpHeaders.ETAG, etag).build());
+            }
+            return Mono.just(ClientResponse.create(HttpStatus.OK)
+                    .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.ETAG, etag)
+                    .body(body)
+                    .build());
+        }
     }
 }
@@ -1,18 +1,45 @@
 package com.directa24.main.challenge.service.impl;
 
+import com.directa24.main.challenge.aggregation.Catalogue;
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.aggregation.MovieColumns;
+import com.directa24.main.challenge.api.FetchedPage;
 import com.directa24.main.challenge.api.MovieApiClient;
+import com.directa24.main.challenge.api.MoviePageDecoder;
+import com.directa24.main.challenge.api.PageFingerprint;
+import com.directa24.main.challenge.config.PageRetryProperties;
+import com.directa24.main.challenge.dto.DirectorBatchDTO;
+import com.directa24.main.challenge.dto.DirectorListDTO;
+import com.directa24.main.challenge.dto.DirectorStatsDTO;
+import com.directa24.main.challenge.dto.DirectorStatsListDTO;
+import com.directa24.main.challenge.dto.DirectorThresholdDTO;
 import com.directa24.main.challenge.dto.MovieDTO;
 import com.directa24.main.challenge.dto.MoviePageDTO;
+import com.directa24.main.challenge.exception.DirectorNotFoundException;
+import com.directa24.main.challenge.exception.MoviesUnavailableException;
+import com.directa24.main.challenge.service.DirectorCountSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.stubbing.Answer;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
 
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -23,16 +50,76 @@ class DirectorServiceImplTest {
     @Mock
     private MovieApiClient movieApiClient;
 
-    @InjectMocks
+    @Mock
+    private CrawlPeerClient crawlPeerClient;
+
+    private ExecutorService movieFetchExecutor;
+
+    private SimpleMeterRegistry meterRegistry;
+
     private DirectorServiceImpl directorService;
 
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        movieFetchExecutor = Executors.newFixedThreadPool(4);
+        meterRegistry = new SimpleMeterRegistry();
+        directorService = newDirectorService(Duration.ofMinutes(10));
+    }
+
+    /**
+     * Builds a fetched page holding the movies of the given page, as the client decodes them.
+     */
+    private static FetchedPage fetched(int pageNumber, MoviePageDTO page, PageFingerprint fingerprint) {
+        MovieColumns.Builder movies = new MovieColumns.Builder();
+        if (page.getData() != null) {
+            page.getData().forEach(movies::add);
+        }
+        return new FetchedPage(pageNumber, movies.build(),
+                new MoviePageDecoder.PageSummary(page.getTotalPages(), movies.size(), page.getData() != null),
+                fingerprint);
+    }
+
+    private static FetchedPage changed(int pageNumber, MoviePageDTO page) {
+        return page == null ? null
+                : fetched(pageNumber, page, new PageFingerprint(null, "page-" + pageNumber, 10, page.getTotalPages()));
+    }
+
+    /**
+     * Answers a page fetch with the given page, as changed since the previous crawl.
+     */
+    private static Answer<FetchedPage> changedPage(MoviePageDTO page) {
+        return invocation -> changed(invocation.getArgument(0), page);
+    }
+
+    /**
+     * Answers a page fetch with the page built by {@code pageAnswer}, as changed since the previous crawl.
+     */
+    private static Answer<FetchedPage> changedPage(Answer<MoviePageDTO> pageAnswer) {
+        return invocation -> changed(invocation.getArgument(0), pageAnswer.answer(invocation));
+    }
+
+    /**
+     * Streams the given pages, numbered from 1, as changed since the previous crawl.
+     */
+    private static Flux<FetchedPage> changedPages(MoviePageDTO... pages) {
+        return Flux.range(1, pages.length).map(page -> changed(page, pages[page - 1]));
     }
 
     @AfterEach
     void tearDown() {
+        movieFetchExecutor.shutdownNow();
+    }
+
+    private DirectorServiceImpl newDirectorService(Duration cacheTtl) {
+        return newDirectorService(cacheTtl, Duration.ZERO);
+    }
+
+    private DirectorServiceImpl newDirectorService(Duration cacheTtl, Duration staleWhileRevalidate) {
+        MovieCatalogCrawler crawler = new MovieCatalogCrawler(movieApiClient, crawlPeerClient, movieFetchExecutor,
+                PageRetryProperties.defaults(), meterRegistry);
+        return new DirectorServiceImpl(
+                new DirectorCountCache(crawler, cacheTtl, staleWhileRevalidate, meterRegistry));
     }
 
     @Test
@@ -46,16 +133,16 @@ class DirectorServiceImplTest {
         MoviePageDTO page2 = new MoviePageDTO(Collections.singletonList(new MovieDTO("Director C")), 2);
 
         // Mock behavior
-        when(movieApiClient.fetchMovies(1)).thenReturn(page1);
-        when(movieApiClient.fetchMovies(2)).thenReturn(page2);
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(page1));
+        when(movieApiClient.fetchPage(eq(2), any())).thenAnswer(changedPage(page2));
 
         // Execute
-        List<String> result = directorService.getDirectors(1);
+        List<String> result = directorService.getDirectors(1).directors();
 
         // Verify
         // Director A meets the threshold (2 movies > 1).
         assertEquals(Collections.singletonList("Director A"), result);
-        verify(movieApiClient, times(2)).fetchMovies(anyInt());
+        verify(movieApiClient, times(2)).fetchPage(anyInt(), any());
     }
 
     @Test
@@ -65,39 +152,569 @@ class DirectorServiceImplTest {
         MoviePageDTO page1 = new MoviePageDTO(Collections.singletonList(movie1), 1);
 
         // Mock behavior
-        when(movieApiClient.fetchMovies(1)).thenReturn(page1);
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(page1));
 
         // Execute
-        List<String> result = directorService.getDirectors(2);
+        List<String> result = directorService.getDirectors(2).directors();
 
         // Verify
         assertEquals(Collections.emptyList(), result);
-        verify(movieApiClient, times(1)).fetchMovies(1);
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
     }
 
     @Test
     void getDirectors_emptyResponseFromApi() {
         // Mock behavior
-        when(movieApiClient.fetchMovies(1)).thenReturn(new MoviePageDTO(Collections.emptyList(), 1));
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.emptyList(), 1)));
 
         // Execute
-        List<String> result = directorService.getDirectors(1);
+        List<String> result = directorService.getDirectors(1).directors();
 
         // Verify
         assertEquals(Collections.emptyList(), result);
-        verify(movieApiClient, times(1)).fetchMovies(1);
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_fetchesRemainingPagesConcurrently() {
+        // Mock behavior: every page contributes one movie by Director A and page 3 one by Director B
+        when(movieApiClient.fetchPage(anyInt(), any())).thenAnswer(changedPage(invocation -> {
+            int page = invocation.getArgument(0);
+            List<MovieDTO> movies = page == 3
+                    ? Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director B"))
+                    : Collections.singletonList(new MovieDTO("Director A"));
+            return new MoviePageDTO(movies, 5);
+        }));
+
+        // Execute
+        List<String> result = directorService.getDirectors(4).directors();
+
+        // Verify: Director A appears once on each of the 5 pages
+        assertEquals(Collections.singletonList("Director A"), result);
+        for (int page = 1; page <= 5; page++) {
+            verify(movieApiClient, times(1)).fetchPage(eq(page), any());
+        }
+    }
+
+    @Test
+    void getDirectors_remainingPageThrowsException() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 3)));
+        when(movieApiClient.fetchPage(eq(2), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 3)));
+        when(movieApiClient.fetchPage(eq(3), any())).thenThrow(new RuntimeException("Page error"));
+
+        // Execute & Assert
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> directorService.getDirectors(0));
+        assertEquals("Page error", exception.getMessage());
     }
 
     @Test
     void getDirectors_apiThrowsException() {
         // Mock behavior
-        when(movieApiClient.fetchMovies(1)).thenThrow(new RuntimeException("API error"));
+        when(movieApiClient.fetchPage(eq(1), any())).thenThrow(new RuntimeException("API error"));
 
         // Execute & Assert
         RuntimeException exception = assertThrows(RuntimeException.class, () -> directorService.getDirectors(1));
         assertEquals("API error", exception.getMessage());
 
-        verify(movieApiClient, times(1)).fetchMovies(1);
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_batchAnswersEveryThresholdFromOneCrawl() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Arrays.asList(new MovieDTO("Woody Allen"),
+                new MovieDTO("Woody Allen"), new MovieDTO("Wes Anderson"), new MovieDTO("Martin Scorsese"),
+                new MovieDTO("Martin Scorsese"), new MovieDTO("Martin Scorsese")), 1)));
+
+        // Execute
+        DirectorBatchDTO result = directorService.getDirectors(List.of(2, 0, 1, 0), null);
+
+        // Verify: results follow the request order, without the repeated threshold
+        assertEquals(List.of(
+                new DirectorThresholdDTO(2, List.of("Martin Scorsese")),
+                new DirectorThresholdDTO(0, List.of("Martin Scorsese", "Wes Anderson", "Woody Allen")),
+                new DirectorThresholdDTO(1, List.of("Martin Scorsese", "Woody Allen"))), result.results());
+        assertNull(result.prefix());
+        assertFalse(result.stale());
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_batchFiltersByNamePrefix() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Arrays.asList(new MovieDTO("Woody Allen"),
+                new MovieDTO("Woody Allen"), new MovieDTO("Wes Anderson"), new MovieDTO("Martin Scorsese")), 1)));
+
+        // Execute
+        DirectorBatchDTO result = directorService.getDirectors(List.of(0, 1), "W");
+
+        // Verify
+        assertEquals("W", result.prefix());
+        assertEquals(List.of(new DirectorThresholdDTO(0, List.of("Wes Anderson", "Woody Allen")),
+                new DirectorThresholdDTO(1, List.of("Woody Allen"))), result.results());
+    }
+
+    @Test
+    void getDirectors_batchRejectsNegativeThresholds() {
+        // Execute & Verify
+        assertThrows(IllegalArgumentException.class, () -> directorService.getDirectors(List.of(1, -1), null));
+        assertThrows(IllegalArgumentException.class, () -> directorService.getDirectors(List.of(), null));
+        verifyNoInteractions(movieApiClient);
+    }
+
+    @Test
+    void getDirectors_sharesCrawlWithPeer() {
+        // Mock data: pages 1 and 2 are crawled locally, pages 3 and 4 by the peer
+        DirectorStats peerStats = new DirectorStats(2, 2001, 2003, 200, Map.of("Drama", 2));
+
+        // Mock behavior
+        when(crawlPeerClient.getPeers()).thenReturn(List.of("http://peer"));
+        when(crawlPeerClient.fetchPartial("http://peer", 3, 4))
+                .thenReturn(Mono.just(Map.of("Director A", peerStats)));
+        when(movieApiClient.fetchPage(anyInt(), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(
+                        new MovieDTO("Director A", "2005", "90 min", "Drama")), 4)));
+
+        // Execute
+        DirectorStatsListDTO result = directorService.getTopDirectors(1);
+
+        // Verify: the local and peer statistics of Director A are merged
+        assertEquals(new DirectorStatsDTO("Director A", 4, 2001, 2005, 380, Map.of("Drama", 4)),
+                result.directors().get(0));
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+        verify(movieApiClient, times(1)).fetchPage(eq(2), any());
+        verify(movieApiClient, never()).fetchPage(eq(3), any());
+        verify(movieApiClient, never()).fetchPage(eq(4), any());
+    }
+
+    @Test
+    void getDirectorsSince_countsOnlyMoviesSinceYear() {
+        // Mock data
+        MoviePageDTO page1 = new MoviePageDTO(Arrays.asList(
+                new MovieDTO("Director A", "1995", "90 min", "Drama"),
+                new MovieDTO("Director A", "2012", "90 min", "Drama"),
+                new MovieDTO("Director B", "2010", "90 min", "Drama")), 2);
+        MoviePageDTO page2 = new MoviePageDTO(Arrays.asList(
+                new MovieDTO("Director B", "2015", "90 min", "Drama"),
+                new MovieDTO("Director C", "2020", "90 min", "Drama")), 2);
+
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(page1));
+        when(movieApiClient.fetchPage(eq(2), any())).thenAnswer(changedPage(page2));
+
+        // Execute
+        DirectorListDTO all = directorService.getDirectors(1, null, 10);
+        DirectorListDTO since2010 = directorService.getDirectorsSince(1, 2010, null, 10);
+        DirectorListDTO firstSince2000 = directorService.getDirectorsSince(0, 2000, null, 2);
+
+        // Verify: every query is answered from the movies of one crawl
+        assertEquals(Arrays.asList("Director A", "Director B"), all.directors());
+        assertEquals(Collections.singletonList("Director B"), since2010.directors());
+        assertEquals(Arrays.asList("Director A", "Director B"), firstSince2000.directors());
+        assertEquals("Director B", firstSince2000.next());
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+        verify(movieApiClient, times(1)).fetchPage(eq(2), any());
+    }
+
+    @Test
+    void getDirectorsSince_unavailableAfterSharedCrawl() {
+        // Mock behavior: the peer only answers with statistics, so the catalogue has no movies
+        when(crawlPeerClient.getPeers()).thenReturn(List.of("http://peer"));
+        when(crawlPeerClient.fetchPartial("http://peer", 2, 2))
+                .thenReturn(Mono.just(Map.of("Director B", new DirectorStats(1, 2010, 2010, 90, Map.of()))));
+        when(movieApiClient.fetchPage(anyInt(), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 2)));
+
+        // Execute & Verify
+        assertEquals(Arrays.asList("Director A", "Director B"), directorService.getDirectors(0).directors());
+        assertThrows(MoviesUnavailableException.class, () -> directorService.getDirectorsSince(0, 2000, null, 10));
+    }
+
+    @Test
+    void getDirectors_crawlsRangeOfFailedPeerLocally() {
+        // Mock behavior
+        when(crawlPeerClient.getPeers()).thenReturn(List.of("http://peer-1", "http://peer-2"));
+        when(crawlPeerClient.fetchPartial("http://peer-1", 3, 3))
+                .thenReturn(Mono.just(Map.of("Director B", new DirectorStats(1, null, null, 0, Map.of()))));
+        when(crawlPeerClient.fetchPartial("http://peer-2", 4, 4))
+                .thenReturn(Mono.error(new IllegalStateException("Connection refused")));
+        when(movieApiClient.fetchPage(anyInt(), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 4)));
+
+        // Execute
+        List<String> result = directorService.getDirectors(2).directors();
+
+        // Verify: page 4 was crawled locally, so Director A has a movie on pages 1, 2 and 4
+        assertEquals(Collections.singletonList("Director A"), result);
+        verify(movieApiClient, never()).fetchPage(eq(3), any());
+        verify(movieApiClient, times(1)).fetchPage(eq(4), any());
+        assertEquals(1.0, meterRegistry.get("directors.crawl.peer.fallbacks").counter().count());
+    }
+
+    @Test
+    void getDirectorsSince_reusesPagesLastCrawledByAPeer() {
+        // Mock behavior: crawled alone, then with a peer for pages 3 and 4, which fails on the third crawl
+        directorService = newDirectorService(Duration.ZERO);
+        for (int page = 1; page <= 4; page++) {
+            PageFingerprint fingerprint = new PageFingerprint(null, "page-" + page, 10, 4);
+            doReturn(fetched(page, new MoviePageDTO(Collections.singletonList(
+                            new MovieDTO("Director A", String.valueOf(2000 + page), "90 min", "Drama")), 4), fingerprint),
+                    new FetchedPage(page, null, null, fingerprint))
+                    .when(movieApiClient).fetchPage(eq(page), any());
+        }
+        when(crawlPeerClient.getPeers()).thenReturn(List.of(), List.of("http://peer"));
+        when(crawlPeerClient.fetchPartial("http://peer", 3, 4))
+                .thenReturn(Mono.just(Map.of("Director A", new DirectorStats(2, 2003, 2004, 180, Map.of()))),
+                        Mono.error(new IllegalStateException("Connection refused")));
+
+        // Execute
+        directorService.getDirectors(0);
+        directorService.getDirectors(0);
+        DirectorListDTO result = directorService.getDirectorsSince(1, 2002, null, 10);
+
+        // Verify: pages 3 and 4 were unchanged, so their movies were kept while the peer crawled them
+        assertEquals(Collections.singletonList("Director A"), result.directors());
+        verify(movieApiClient, times(2)).fetchPage(eq(3), any());
+        assertEquals(4, directorService.getDirectorStats("Director A").movieCount());
+    }
+
+    @Test
+    void crawlRange_stopsAtTheEndOfTheCatalogue() {
+        // Mock behavior
+        MovieCatalogCrawler crawler = new MovieCatalogCrawler(movieApiClient, crawlPeerClient, movieFetchExecutor,
+                PageRetryProperties.defaults(), meterRegistry);
+        when(movieApiClient.fetchPage(anyInt(), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 4)));
+
+        // Execute
+        Map<String, DirectorStats> partial = crawler.crawlRange(3, MovieCatalogCrawler.MAX_RANGE_PAGES);
+
+        // Verify: only pages 3 and 4 exist, and out-of-bounds or oversized ranges are refused
+        assertEquals(2, partial.get("Director A").movieCount());
+        verify(movieApiClient, times(2)).fetchPage(anyInt(), any());
+        assertThrows(IllegalArgumentException.class, () -> crawler.crawlRange(1, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> crawler.crawlRange(5, 4));
+    }
+
+    @Test
+    void pageRange_splitsPagesEvenlyAcrossNodes() {
+        // Execute & Verify
+        assertEquals(List.of(new MovieCatalogCrawler.PageRange(1, 4), new MovieCatalogCrawler.PageRange(5, 7),
+                        new MovieCatalogCrawler.PageRange(8, 10)),
+                MovieCatalogCrawler.PageRange.split(1, 10, 3));
+        assertEquals(List.of(new MovieCatalogCrawler.PageRange(1, 1), new MovieCatalogCrawler.PageRange(2, 2)),
+                MovieCatalogCrawler.PageRange.split(1, 2, 3));
+    }
+
+    @Test
+    void getDirectorsReactive_positiveScenario() {
+        // Mock data
+        MoviePageDTO page1 = new MoviePageDTO(Arrays.asList(new MovieDTO("Director B"), new MovieDTO("Director A")), 2);
+        MoviePageDTO page2 = new MoviePageDTO(Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director B")), 2);
+
+        // Mock behavior
+        when(movieApiClient.streamPages(any())).thenReturn(changedPages(page1, page2));
+
+        // Execute & Verify: both directors have 2 movies, returned in alphabetical order
+        StepVerifier.create(directorService.getDirectorsReactive(1).map(DirectorListDTO::directors))
+                .expectNext(Arrays.asList("Director A", "Director B"))
+                .verifyComplete();
+        verify(movieApiClient, never()).fetchPage(anyInt(), any());
+    }
+
+    @Test
+    void getDirectors_servesSubsequentThresholdsFromCache() {
+        // Mock data
+        MoviePageDTO page1 = new MoviePageDTO(
+                Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director A"), new MovieDTO("Director B")), 1);
+
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(page1));
+
+        // Execute
+        List<String> first = directorService.getDirectors(1).directors();
+        List<String> second = directorService.getDirectors(0).directors();
+
+        // Verify: the catalogue is crawled once and both thresholds are answered from the snapshot
+        assertEquals(Collections.singletonList("Director A"), first);
+        assertEquals(Arrays.asList("Director A", "Director B"), second);
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void refreshReactive_cancelledCallerDoesNotFailJoinedCallers() {
+        // Mock data
+        DirectorCountSource source = mock(DirectorCountSource.class);
+        Sinks.One<Catalogue> load = Sinks.one();
+        when(source.loadCatalogueReactive()).thenReturn(load.asMono());
+        DirectorCountCache cache = new DirectorCountCache(source, Duration.ofMinutes(10), Duration.ZERO, meterRegistry);
+        Catalogue catalogue = new Catalogue(Map.of("Director A", new DirectorStats(1, null, null, 0, Map.of())), null);
+
+        // Execute: the caller that started the load disconnects before it completes
+        Disposable first = cache.getSnapshotReactive().subscribe();
+        Mono<DirectorCountSnapshot> joined = cache.getSnapshotReactive();
+        first.dispose();
+
+        // Verify: the load goes on for the joined caller, and is started once
+        StepVerifier.create(joined)
+                .then(() -> load.tryEmitValue(catalogue))
+                .assertNext(snapshot -> assertEquals(1, snapshot.directorMovieCount().get("Director A")))
+                .verifyComplete();
+        verify(source, times(1)).loadCatalogueReactive();
+    }
+
+    @Test
+    void getDirectors_expiredCacheCrawlsAgain() {
+        // Mock behavior
+        directorService = newDirectorService(Duration.ZERO);
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 1)));
+
+        // Execute
+        directorService.getDirectors(0);
+        directorService.getDirectors(0);
+
+        // Verify: a zero TTL disables caching
+        verify(movieApiClient, times(2)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_concurrentCallersShareOneCrawl() throws Exception {
+        // Mock behavior: the crawl blocks until released, and the cache never serves a stored snapshot
+        directorService = newDirectorService(Duration.ZERO);
+        CountDownLatch crawlStarted = new CountDownLatch(1);
+        CountDownLatch releaseCrawl = new CountDownLatch(1);
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(invocation -> {
+            crawlStarted.countDown();
+            releaseCrawl.await();
+            return new MoviePageDTO(Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director A"),
+                    new MovieDTO("Director B")), 1);
+        }));
+
+        // Execute: the second caller arrives while the first one is crawling
+        CompletableFuture<List<String>> first = CompletableFuture.supplyAsync(() -> directorService.getDirectors(1).directors());
+        crawlStarted.await();
+        CompletableFuture<List<String>> second = CompletableFuture.supplyAsync(() -> directorService.getDirectors(0).directors());
+        Thread.sleep(200);
+        releaseCrawl.countDown();
+
+        // Verify: both thresholds are answered from a single crawl
+        assertEquals(Collections.singletonList("Director A"), first.get());
+        assertEquals(Arrays.asList("Director A", "Director B"), second.get());
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_reloadFailsServesStaleCounts() {
+        // Mock behavior: the first crawl succeeds, the reload of the expired counts fails
+        directorService = newDirectorService(Duration.ZERO);
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(
+                        Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director A")), 1)))
+                .thenThrow(new RuntimeException("API error"));
+
+        // Execute
+        DirectorListDTO first = directorService.getDirectors(1);
+        DirectorListDTO second = directorService.getDirectors(1);
+
+        // Verify: the last known counts are served, flagged as stale
+        assertFalse(first.stale());
+        assertTrue(second.stale());
+        assertEquals(Collections.singletonList("Director A"), second.directors());
+        assertEquals(first.countedAt(), second.countedAt());
+        verify(movieApiClient, times(2)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectorsReactive_reloadFailsServesStaleCounts() {
+        // Mock behavior: the first crawl succeeds, the reload of the expired counts fails
+        directorService = newDirectorService(Duration.ZERO);
+        when(movieApiClient.streamPages(any()))
+                .thenReturn(changedPages(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 1)))
+                .thenReturn(Flux.error(new RuntimeException("API error")));
+
+        // Execute & Verify
+        StepVerifier.create(directorService.getDirectorsReactive(0).map(DirectorListDTO::stale))
+                .expectNext(false)
+                .verifyComplete();
+        StepVerifier.create(directorService.getDirectorsReactive(0))
+                .assertNext(result -> {
+                    assertTrue(result.stale());
+                    assertEquals(Collections.singletonList("Director A"), result.directors());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getDirectors_expiredWithinStaleWindowRevalidatesInBackground() {
+        // Mock behavior: counts expire at once but may be served as stale for an hour
+        directorService = newDirectorService(Duration.ZERO, Duration.ofHours(1));
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 1)));
+        when(movieApiClient.streamPages(any()))
+                .thenReturn(changedPages(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director B")), 1)));
+
+        // Execute
+        DirectorListDTO first = directorService.getDirectors(0);
+        DirectorListDTO second = directorService.getDirectors(0);
+
+        // Verify: the expired counts are answered at once and reloaded in the background
+        assertFalse(first.stale());
+        assertTrue(second.stale());
+        assertEquals(Collections.singletonList("Director A"), second.directors());
+        verify(movieApiClient, timeout(1000)).streamPages(any());
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_recordsCrawlAndCacheMetrics() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(anyInt(), any())).thenAnswer(changedPage(invocation -> new MoviePageDTO(
+                Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director B")), 3)));
+
+        // Execute
+        directorService.getDirectors(0);
+        directorService.getDirectors(1);
+
+        // Verify: one crawl of 3 pages and 6 movies, then a cache hit
+        assertEquals(1, meterRegistry.get("directors.crawl").tag("outcome", "success").timer().count());
+        assertEquals(3, meterRegistry.get("directors.crawl.pages").summary().totalAmount());
+        assertEquals(6, meterRegistry.get("directors.crawl.movies").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("directors.cache.requests").tag("result", "miss").counter().count());
+        assertEquals(1, meterRegistry.get("directors.cache.requests").tag("result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("directors.distinct").gauge().value());
+    }
+
+    @Test
+    void getDirectors_pagesWithNextCursor() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Arrays.asList(new MovieDTO("Director C"),
+                new MovieDTO("Director A"), new MovieDTO("Director B")), 1)));
+
+        // Execute
+        DirectorListDTO first = directorService.getDirectors(0, null, 2);
+        DirectorListDTO second = directorService.getDirectors(0, first.next(), 2);
+
+        // Verify: the last page has no cursor
+        assertEquals(Arrays.asList("Director A", "Director B"), first.directors());
+        assertEquals("Director B", first.next());
+        assertEquals(Collections.singletonList("Director C"), second.directors());
+        assertNull(second.next());
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
+    }
+
+    @Test
+    void getDirectors_refreshReaggregatesOnlyChangedPages() {
+        // Mock behavior: page 2 gains a movie by Director B, page 1 is reported unchanged on the second crawl
+        directorService = newDirectorService(Duration.ZERO);
+        PageFingerprint page1 = new PageFingerprint("\"v1\"", "hash-1", 10, 2);
+        doReturn(fetched(1, new MoviePageDTO(Arrays.asList(new MovieDTO("Director A"),
+                        new MovieDTO("Director B")), 2), page1),
+                new FetchedPage(1, null, null, page1))
+                .when(movieApiClient).fetchPage(eq(1), any());
+        doReturn(changed(2, new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 2)),
+                changed(2, new MoviePageDTO(Arrays.asList(new MovieDTO("Director A"), new MovieDTO("Director B")), 2)))
+                .when(movieApiClient).fetchPage(eq(2), any());
+
+        // Execute
+        List<String> first = directorService.getDirectors(1).directors();
+        List<String> second = directorService.getDirectors(1).directors();
+
+        // Verify: the unchanged page 1 keeps counting, and was fetched against its fingerprint
+        assertEquals(Collections.singletonList("Director A"), first);
+        assertEquals(Arrays.asList("Director A", "Director B"), second);
+        verify(movieApiClient).fetchPage(1, page1);
+        assertEquals(3, meterRegistry.get("directors.crawl.pages.changed").summary().totalAmount());
+    }
+
+    @Test
+    void getDirectors_refreshCrawlsPagesAppendedBehindAnUnchangedFirstPage() {
+        // Mock behavior: a movie is appended on a new page 2, page 1 keeps its movies but reports 2 pages
+        directorService = newDirectorService(Duration.ZERO);
+        doReturn(changed(1, new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 1)),
+                new FetchedPage(1, null, null, new PageFingerprint(null, "page-1", 10, 2)))
+                .when(movieApiClient).fetchPage(eq(1), any());
+        when(movieApiClient.fetchPage(eq(2), any()))
+                .thenAnswer(changedPage(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director B")), 2)));
+
+        // Execute
+        List<String> first = directorService.getDirectors(0).directors();
+        List<String> second = directorService.getDirectors(0).directors();
+
+        // Verify: page 1 is reused, and only the appended page is aggregated
+        assertEquals(Collections.singletonList("Director A"), first);
+        assertEquals(Arrays.asList("Director A", "Director B"), second);
+        assertEquals(2, meterRegistry.get("directors.crawl.pages.changed").summary().totalAmount());
+    }
+
+    @Test
+    void getDirectorsReactive_refreshForgetsPagesBeyondTheCatalogue() {
+        // Mock behavior: the catalogue shrinks from 2 pages to 1
+        directorService = newDirectorService(Duration.ZERO);
+        when(movieApiClient.streamPages(any()))
+                .thenReturn(changedPages(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 2),
+                        new MoviePageDTO(Collections.singletonList(new MovieDTO("Director B")), 2)))
+                .thenReturn(changedPages(new MoviePageDTO(Collections.singletonList(new MovieDTO("Director A")), 1)));
+
+        // Execute & Verify
+        StepVerifier.create(directorService.getDirectorsReactive(0).map(DirectorListDTO::directors))
+                .expectNext(Arrays.asList("Director A", "Director B"))
+                .verifyComplete();
+        StepVerifier.create(directorService.getDirectorsReactive(0).map(DirectorListDTO::directors))
+                .expectNext(Collections.singletonList("Director A"))
+                .verifyComplete();
+    }
+
+    @Test
+    void getTopDirectors_ranksByMovieCountWithStatistics() {
+        // Mock data
+        MoviePageDTO page1 = new MoviePageDTO(Arrays.asList(
+                new MovieDTO("Director B", "2011", "94 min", "Comedy, Drama"),
+                new MovieDTO("Director A", "2005", "120 min", "Drama"),
+                new MovieDTO("Director B", "2019", "N/A", "Comedy"),
+                new MovieDTO("Director C", "2001", "100 min", "Horror")), 1);
+
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(page1));
+
+        // Execute
+        DirectorStatsListDTO result = directorService.getTopDirectors(2);
+
+        // Verify: ties on the movie count are broken by name
+        assertEquals(Arrays.asList("Director B", "Director A"),
+                result.directors().stream().map(DirectorStatsDTO::director).toList());
+        DirectorStatsDTO top = result.directors().get(0);
+        assertEquals(2, top.movieCount());
+        assertEquals(2011, top.firstYear());
+        assertEquals(2019, top.lastYear());
+        assertEquals(94, top.totalRuntimeMinutes());
+        assertEquals(Map.of("Comedy", 2, "Drama", 1), top.genres());
+        assertFalse(result.stale());
+    }
+
+    @Test
+    void getDirectorStats_servesFromTheSameSnapshot() {
+        // Mock behavior
+        when(movieApiClient.fetchPage(eq(1), any())).thenAnswer(changedPage(new MoviePageDTO(Arrays.asList(
+                new MovieDTO("Director A", "2005", "120 min", "Drama"),
+                new MovieDTO("Director A", "2007", "90 min", "Drama")), 1)));
+
+        // Execute
+        directorService.getDirectors(0);
+        DirectorStatsDTO result = directorService.getDirectorStats("Director A");
+
+        // Verify
+        assertEquals(2, result.movieCount());
+        assertEquals(210, result.totalRuntimeMinutes());
+        assertThrows(DirectorNotFoundException.class, () -> directorService.getDirectorStats("Director Z"));
+        verify(movieApiClient, times(1)).fetchPage(eq(1), any());
     }
 
-}
\ No newline at end of file
+}
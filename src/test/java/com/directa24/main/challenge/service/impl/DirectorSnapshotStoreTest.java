@@ -0,0 +1,141 @@
+package com.directa24.main.challenge.service.impl;
+
+import com.directa24.main.challenge.aggregation.DirectorStats;
+import com.directa24.main.challenge.service.DirectorCountSource;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class DirectorSnapshotStoreTest {
+
+    @TempDir
+    Path snapshotDirectory;
+
+    @Mock
+    private DirectorCountSource directorCountSource;
+
+    private Path snapshotPath;
+
+    private final Map<String, DirectorStats> directorStats = Map.of(
+            "Woody Allen", new DirectorStats(2, 2010, 2011, 190, Map.of("Comedy", 2)),
+            "Pedro Almodóvar", new DirectorStats(1, null, null, 0, Map.of()));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        snapshotPath = snapshotDirectory.resolve("snapshots").resolve("directors.bin");
+    }
+
+    private DirectorCountCache newCache(Duration ttl) {
+        return new DirectorCountCache(directorCountSource, ttl, Duration.ZERO, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void restore_servesWrittenCountsWithoutCrawling() {
+        // Mock data: a previous instance crawled and wrote its counts
+        DirectorCountCache previous = newCache(Duration.ofMinutes(10));
+        DirectorCountSnapshot written = previous.update(directorStats);
+        assertTrue(new DirectorSnapshotStore(previous, snapshotPath.toString()).write());
+
+        // Execute
+        DirectorCountCache cache = newCache(Duration.ofMinutes(10));
+        assertTrue(new DirectorSnapshotStore(cache, snapshotPath.toString()).restore());
+        DirectorCountSnapshot restored = cache.getSnapshot();
+
+        // Verify
+        assertEquals(directorStats, restored.directorStats());
+        assertEquals(List.of("Woody Allen", "Pedro Almodóvar"), restored.rankedDirectors());
+        assertEquals(written.createdAt().truncatedTo(ChronoUnit.MILLIS), restored.createdAt());
+        assertFalse(restored.stale());
+        verifyNoInteractions(directorCountSource);
+    }
+
+    @Test
+    void restore_expiredCountsAreServedAsStaleWhenReloadFails() {
+        // Mock behavior
+        DirectorCountCache previous = newCache(Duration.ofMinutes(10));
+        previous.update(directorStats);
+        new DirectorSnapshotStore(previous, snapshotPath.toString()).write();
+        when(directorCountSource.loadCatalogue()).thenThrow(new RuntimeException("API error"));
+
+        // Execute
+        DirectorCountCache cache = newCache(Duration.ZERO);
+        new DirectorSnapshotStore(cache, snapshotPath.toString()).restore();
+        DirectorCountSnapshot result = cache.getSnapshot();
+
+        // Verify: the restored counts keep their age, so they are reloaded but still serve as a fallback
+        assertTrue(result.stale());
+        assertEquals(2, result.directorMovieCount().get("Woody Allen"));
+        verify(directorCountSource, times(1)).loadCatalogue();
+    }
+
+    @Test
+    void write_skipsUnchangedSnapshot() {
+        // Mock behavior
+        DirectorCountCache cache = newCache(Duration.ofMinutes(10));
+        DirectorSnapshotStore store = new DirectorSnapshotStore(cache, snapshotPath.toString());
+
+        // Execute & Verify
+        assertFalse(store.write());
+        cache.update(directorStats);
+        assertTrue(store.write());
+        assertFalse(store.write());
+        assertTrue(Files.exists(snapshotPath));
+    }
+
+    @Test
+    void restore_missingFileStartsCold() {
+        // Execute
+        DirectorCountCache cache = newCache(Duration.ofMinutes(10));
+        boolean restored = new DirectorSnapshotStore(cache, snapshotPath.toString()).restore();
+
+        // Verify
+        assertFalse(restored);
+        assertTrue(cache.getCurrent().isEmpty());
+    }
+
+    @Test
+    void restore_corruptFileStartsCold() throws IOException {
+        // Mock data: flip one byte of a valid snapshot
+        DirectorSnapshotFile.write(DirectorCountSnapshot.of(directorStats, Instant.now()), snapshotPath);
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        bytes[bytes.length / 2] ^= 0x40;
+        Files.write(snapshotPath, bytes);
+
+        // Execute
+        DirectorCountCache cache = newCache(Duration.ofMinutes(10));
+        boolean restored = new DirectorSnapshotStore(cache, snapshotPath.toString()).restore();
+
+        // Verify
+        assertFalse(restored);
+        assertTrue(cache.getCurrent().isEmpty());
+        assertThrows(IOException.class, () -> DirectorSnapshotFile.read(snapshotPath));
+    }
+
+    @Test
+    void read_rejectsTruncatedFile() throws IOException {
+        // Mock data
+        DirectorSnapshotFile.write(DirectorCountSnapshot.of(directorStats, Instant.now()), snapshotPath);
+        byte[] bytes = Files.readAllBytes(snapshotPath);
+        Files.write(snapshotPath, Arrays.copyOf(bytes, bytes.length - 3));
+
+        // Execute & Verify
+        assertThrows(IOException.class, () -> DirectorSnapshotFile.read(snapshotPath));
+    }
+}